@@ -58,7 +58,7 @@ function App() {
             if (!sessionId) return;
             setIsLoading(true);
             try {
-                const nextData = await progressGame(sessionId, choiceId);
+                const nextData = await progressGame(sessionId, choiceId, gameData?.turnToken);
                 setGameData(nextData);
                 setIsTypingComplete(false);
                 window.scrollTo(0, 0);
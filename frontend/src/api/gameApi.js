@@ -15,11 +15,12 @@ export const initGame = async (worldSetting, characterSetting) => {
     }
 };
 
-export const progressGame = async (sessionId, choiceId) => {
+export const progressGame = async (sessionId, choiceId, turnToken) => {
     try {
         const response = await axios.post(`${BASE_URL}/progress`, {
             sessionId,
-            choiceId
+            choiceId,
+            turnToken // 서버가 턴 토큰 모드일 때만 값이 있음
         });
         return response.data;
     } catch (error) {
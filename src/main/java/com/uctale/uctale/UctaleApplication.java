@@ -2,9 +2,13 @@ package com.uctale.uctale;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@EnableJpaAuditing
+@EnableAsync
+@EnableScheduling
+@ConfigurationPropertiesScan
 @SpringBootApplication
 public class UctaleApplication {
 
@@ -0,0 +1,30 @@
+package com.uctale.uctale.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * 자동 플레이(autoplay.*) 설정
+ * - 프롬프트 변경 평가용으로 여러 세션을 동시에 끝까지 진행시키고 결과를 JSONL로 기록
+ */
+@ConfigurationProperties(prefix = "autoplay")
+public record AutoplayProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100") int sessions,          // 진행할 세션 수
+        @DefaultValue("10") int turns,              // 세션당 진행할 턴 수 (오프닝 제외)
+        @DefaultValue("16") int parallelism,        // 동시에 진행할 최대 세션 수
+        @DefaultValue("RANDOM") ChoicePolicy policy,
+        List<Integer> script,                       // SCRIPTED 정책에서 순서대로 고를 선택지 번호 (반복)
+        @DefaultValue("좀비 아포칼립스") String worldSetting,
+        @DefaultValue("평범한 회사원 김대리") String characterSetting,
+        @DefaultValue("build/autoplay/results.jsonl") String output,
+        @DefaultValue("true") boolean exitOnFinish  // 실행이 끝나면 애플리케이션 종료
+) {
+    public enum ChoicePolicy { RANDOM, FIRST, SCRIPTED }
+
+    public List<Integer> script() {
+        return script == null ? List.of() : script;
+    }
+}
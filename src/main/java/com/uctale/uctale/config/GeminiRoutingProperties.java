@@ -0,0 +1,20 @@
+package com.uctale.uctale.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Gemini 모델 라우팅 설정 (gemini.routing.*)
+ * - models는 품질 순(앞) → 속도 순(뒤)
+ */
+@ConfigurationProperties(prefix = "gemini.routing")
+public record GeminiRoutingProperties(
+        @DefaultValue({"gemini-2.5-flash", "gemini-2.5-flash-lite"}) List<String> models,
+        @DefaultValue("12000") long foregroundSloMs,   // 사용자 요청(오프닝/턴) 지연 목표
+        @DefaultValue("30000") long backgroundSloMs,   // 백그라운드 요청(요약/미리 생성) 지연 목표
+        @DefaultValue("0.5") double maxErrorRate,      // 이보다 오류율이 높은 모델은 제외
+        @DefaultValue("0.05") double logSampleRate     // 라우팅 결정을 로그로 남길 비율
+) {
+}
@@ -0,0 +1,13 @@
+package com.uctale.uctale.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+/**
+ * JPA Auditing 설정
+ * - 메인 클래스에 두면 JPA가 없는 슬라이스 테스트(@WebMvcTest 등)까지 메타모델을 요구하므로 분리
+ */
+@Configuration
+@EnableJpaAuditing
+public class JpaAuditingConfig {
+}
@@ -0,0 +1,33 @@
+package com.uctale.uctale.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * 오프닝 풀 설정 (game.opening-pool.*)
+ * - presets: 미리 오프닝을 만들어 둘 인기 세계관/캐릭터 조합
+ * - 한가한 시간대(offPeakStartHour ~ offPeakEndHour)에만 시간당 호출 한도 안에서 채움
+ */
+@ConfigurationProperties(prefix = "game.opening-pool")
+public record OpeningPoolProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("3") int sizePerPreset,          // 프리셋별 최대 보관 개수
+        @DefaultValue("2") int refillBatch,            // 한 번의 채우기 주기에서 생성할 최대 개수
+        @DefaultValue("30") int maxCallsPerHour,       // 풀 채우기에 쓸 수 있는 시간당 Gemini 호출 한도
+        @DefaultValue("2") int offPeakStartHour,       // 한가한 시간대 시작 (포함)
+        @DefaultValue("8") int offPeakEndHour,         // 한가한 시간대 끝 (제외), 시작과 같으면 항상 채움
+        @DefaultValue("Asia/Seoul") String zone,
+        @DefaultValue("true") boolean warmImages,      // 생성된 이미지 URL을 미리 요청해 렌더링해둘지 여부
+        List<Preset> presets
+) {
+    public record Preset(
+            String worldSetting,
+            String characterSetting
+    ) {}
+
+    public List<Preset> presets() {
+        return presets == null ? List.of() : presets;
+    }
+}
@@ -0,0 +1,14 @@
+package com.uctale.uctale.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 장면 변화 기반 이미지 재생성 설정 (game.scene.*)
+ */
+@ConfigurationProperties(prefix = "game.scene")
+public record SceneProperties(
+        @DefaultValue("1.0") double regenerateThreshold, // 변화 점수가 이 값 이상일 때만 이미지 재생성
+        @DefaultValue("10000") int maxSessions           // 장면을 추적할 최대 세션 수 (LRU)
+) {
+}
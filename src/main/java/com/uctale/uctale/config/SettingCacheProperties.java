@@ -0,0 +1,13 @@
+package com.uctale.uctale.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 세계관/캐릭터 설정 캐시 (game.settings.*)
+ */
+@ConfigurationProperties(prefix = "game.settings")
+public record SettingCacheProperties(
+        @DefaultValue("256") int cacheSize             // 원문/렌더링된 프롬프트 앞부분 캐시 크기
+) {
+}
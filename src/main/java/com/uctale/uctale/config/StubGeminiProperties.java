@@ -0,0 +1,14 @@
+package com.uctale.uctale.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 로컬 Gemini 스텁 설정 (stub.gemini.*)
+ */
+@ConfigurationProperties(prefix = "stub.gemini")
+public record StubGeminiProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0") long latencyMs              // 응답 전 대기 시간 (실제 API 지연 흉내)
+) {
+}
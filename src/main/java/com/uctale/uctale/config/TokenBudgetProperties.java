@@ -0,0 +1,18 @@
+package com.uctale.uctale.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Gemini 토큰 예산 설정 (game.token-budget.*)
+ * - 한도를 0으로 두면 해당 한도는 사용하지 않음
+ */
+@ConfigurationProperties(prefix = "game.token-budget")
+public record TokenBudgetProperties(
+        @DefaultValue("0") long sessionSoftLimit,      // 초과 시 절약 모드
+        @DefaultValue("0") long sessionHardLimit,      // 초과 시 턴 거부
+        @DefaultValue("0") long dailySoftLimit,
+        @DefaultValue("0") long dailyHardLimit,
+        @DefaultValue("Asia/Seoul") String zone        // 일별 한도의 날짜 기준
+) {
+}
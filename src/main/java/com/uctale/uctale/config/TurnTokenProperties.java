@@ -0,0 +1,16 @@
+package com.uctale.uctale.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 서명된 턴 토큰 설정 (game.turn-token.*)
+ */
+@ConfigurationProperties(prefix = "game.turn-token")
+public record TurnTokenProperties(
+        @DefaultValue("false") boolean enabled,
+        String secret,                                 // HMAC 서명 키 (활성화 시 필수)
+        @DefaultValue("true") boolean compress,        // payload를 deflate로 압축할지 여부
+        @DefaultValue("3600") long maxAgeSeconds       // 토큰 유효시간
+) {
+}
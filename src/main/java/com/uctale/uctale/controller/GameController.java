@@ -4,6 +4,7 @@ import com.uctale.uctale.dto.GameInitRequest;
 import com.uctale.uctale.dto.GameProgressRequest;
 import com.uctale.uctale.dto.GameResponse;
 import com.uctale.uctale.service.GameService;
+import com.uctale.uctale.service.TurnTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -44,6 +45,15 @@ public class GameController {
     @PostMapping("/progress")
     public ResponseEntity<GameResponse> progressGame(@RequestBody GameProgressRequest request) {
         log.info("게임 진행: 세션ID={}, 선택지={}", request.sessionId(), request.choiceId());
+        if (request.turnToken() != null && gameService.isTurnTokenEnabled()) {
+            try {
+                return ResponseEntity.ok(gameService.progressGameFromToken(request));
+            } catch (TurnTokenService.ExpiredTurnTokenException e) {
+                // 오래 자리를 비운 경우: DB에 저장된 마지막 턴으로 이어서 진행하고 새 토큰 발급
+                log.info("만료된 턴 토큰 -> DB 경로로 진행: 세션ID={}", e.getSessionId());
+                return ResponseEntity.ok(gameService.progressGame(new GameProgressRequest(e.getSessionId(), request.choiceId())));
+            }
+        }
         return ResponseEntity.ok(gameService.progressGame(request));
     }
 }
\ No newline at end of file
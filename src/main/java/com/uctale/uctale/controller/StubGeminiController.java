@@ -0,0 +1,64 @@
+package com.uctale.uctale.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uctale.uctale.config.StubGeminiProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 로컬 Gemini 스텁 (stub.gemini.enabled=true 일 때만 응답, autoplay 프로필에서 켬)
+ * - generateContent와 같은 형태의 응답을 돌려주어 실제 API 호출 없이 자동 플레이/부하 테스트 가능
+ * - AOT 빌드(이미지)는 @Profile을 빌드 시점에 고정하므로 빈은 항상 등록하고 실행 시점에 설정으로 막음 (꺼져 있으면 404)
+ */
+@RestController
+@RequiredArgsConstructor
+public class StubGeminiController {
+
+    private static final List<String> BACKGROUNDS = List.of("dark abandoned subway station", "ruined shopping mall", "foggy rooftop", "");
+
+    private final ObjectMapper objectMapper;
+    private final StubGeminiProperties properties;
+
+    @PostMapping("/stub-gemini/models/{modelAction}")
+    public ResponseEntity<Map<String, Object>> generateContent(@RequestBody String requestBody) throws JsonProcessingException, InterruptedException {
+        if (!properties.enabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (properties.latencyMs() > 0) {
+            Thread.sleep(properties.latencyMs());
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int scene = random.nextInt(1000);
+        String background = BACKGROUNDS.get(random.nextInt(BACKGROUNDS.size()));
+
+        Map<String, Object> story = Map.of(
+                "title", "장면 " + scene,
+                "story_text", "스텁 응답 " + scene + ": 어둠 속에서 무언가 움직였다. 주인공은 숨을 죽였다.",
+                "choices", List.of(
+                        Map.of("id", 1, "text", "앞으로 나아간다"),
+                        Map.of("id", 2, "text", "몸을 숨긴다"),
+                        Map.of("id", 3, "text", "소리를 지른다")),
+                "visual_assets", Map.of(
+                        "background", background,
+                        "characters", background.isEmpty() ? List.of() : List.of("shadowy figure"),
+                        "assets", List.of())
+        );
+
+        return ResponseEntity.ok(Map.of(
+                "candidates", List.of(Map.of("content", Map.of("parts", List.of(Map.of("text", objectMapper.writeValueAsString(story)))))),
+                "usageMetadata", Map.of(
+                        "promptTokenCount", requestBody.length() / 4,
+                        "candidatesTokenCount", 120,
+                        "totalTokenCount", requestBody.length() / 4 + 120)
+        ));
+    }
+}
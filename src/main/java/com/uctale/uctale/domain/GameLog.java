@@ -35,6 +35,12 @@ public class GameLog {
 
     private String userChoice; // 사용자가 선택한 행동 (다음 턴 요청 시 업데이트됨)
 
+    private String previousChoice; // 이 턴으로 이어진 사용자 선택 (이전 턴 로그보다 먼저 저장되어도 남도록 새 행에 기록)
+
+    private int promptTokens; // 이 턴 생성에 사용된 입력 토큰
+
+    private int candidatesTokens; // 이 턴 생성에 사용된 출력 토큰
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -49,4 +55,13 @@ public class GameLog {
     public void updateUserChoice(String userChoice) {
         this.userChoice = userChoice;
     }
+
+    public void updatePreviousChoice(String previousChoice) {
+        this.previousChoice = previousChoice;
+    }
+
+    public void updateTokenUsage(int promptTokens, int candidatesTokens) {
+        this.promptTokens = promptTokens;
+        this.candidatesTokens = candidatesTokens;
+    }
 }
\ No newline at end of file
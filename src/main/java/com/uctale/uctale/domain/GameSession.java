@@ -21,11 +21,18 @@ public class GameSession {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
-    private String worldSetting;
+    // 설정 원문은 SettingText에 한 번만 저장하고 참조 (원문은 SettingService 캐시에서 id로 조회)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "world_setting_id", nullable = false)
+    private SettingText worldSetting;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "character_setting_id", nullable = false)
+    private SettingText characterSetting;
 
+    // 진행이 확정된 마지막 턴 번호 (오프닝 = 1) - 조건부 갱신으로 노드 간 같은 턴 중복 진행 방지
     @Column(nullable = false)
-    private String characterSetting;
+    private int currentTurn = 1;
 
     // 게임이 진행 중인지, 끝났는지 (나중에 엔딩 구현 시 사용)
     private boolean isGameOver = false;
@@ -40,7 +47,7 @@ public class GameSession {
     @OneToMany(mappedBy = "gameSession", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<GameLog> logs = new ArrayList<>();
 
-    public GameSession(String worldSetting, String characterSetting) {
+    public GameSession(SettingText worldSetting, SettingText characterSetting) {
         this.worldSetting = worldSetting;
         this.characterSetting = characterSetting;
     }
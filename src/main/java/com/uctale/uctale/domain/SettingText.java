@@ -0,0 +1,30 @@
+package com.uctale.uctale.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 세계관/캐릭터 설정 원문 (내용 해시 기준으로 한 번만 저장)
+ * - 같은 프리셋 텍스트를 쓰는 세션들은 같은 행을 id로 참조
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+public class SettingText {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String hash; // 원문의 SHA-256 (hex)
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    public SettingText(String hash, String content) {
+        this.hash = hash;
+        this.content = content;
+    }
+}
@@ -0,0 +1,14 @@
+package com.uctale.uctale.dto;
+
+// 자동 플레이 실행 요약 (처리량, 비용, 실패 통계)
+public record AutoplayReport(
+        int sessions,
+        int completedSessions,
+        int failedSessions,
+        long turns,
+        long elapsedMillis,
+        double turnsPerSecond,
+        long totalTokens,
+        double tokensPerTurn,
+        String output
+) {}
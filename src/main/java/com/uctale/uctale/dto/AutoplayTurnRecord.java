@@ -0,0 +1,17 @@
+package com.uctale.uctale.dto;
+
+import java.util.List;
+
+// 자동 플레이 결과 JSONL의 한 줄 (한 턴)
+public record AutoplayTurnRecord(
+        int session,          // 실행 내 세션 순번
+        Long sessionId,
+        int turn,
+        Integer choiceId,     // 이 턴을 만들기 위해 고른 선택지 (오프닝은 null)
+        String title,
+        String storyText,
+        List<GeminiResponse.Choice> choices,
+        String imageUrl,
+        long latencyMs,
+        String error          // 실패한 경우에만 값이 있음
+) {}
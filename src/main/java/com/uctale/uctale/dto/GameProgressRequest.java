@@ -2,5 +2,10 @@ package com.uctale.uctale.dto;
 
 public record GameProgressRequest(
         Long sessionId, // 어떤 게임 세션인지 식별
-        int choiceId    // 사용자가 고른 선택지 번호 (1, 2, 3)
-) {}
\ No newline at end of file
+        int choiceId,   // 사용자가 고른 선택지 번호 (1, 2, 3)
+        String turnToken // (선택적) 서명된 턴 토큰. 있으면 DB 조회 없이 토큰만으로 진행
+) {
+    public GameProgressRequest(Long sessionId, int choiceId) {
+        this(sessionId, choiceId, null);
+    }
+}
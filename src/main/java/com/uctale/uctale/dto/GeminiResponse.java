@@ -1,5 +1,6 @@
 package com.uctale.uctale.dto;
 
+import java.util.ArrayList;
 import java.util.List;
 
 // Gemini가 반환할 전체 JSON 구조
@@ -7,8 +8,13 @@ public record GeminiResponse(
         String title,
         String story_text,
         List<Choice> choices,
-        VisualAssets visual_assets
+        VisualAssets visual_assets,
+        TokenUsage usage // 이 응답을 만드는 데 사용된 토큰 (모델 출력이 아닌 API 메타데이터)
 ) {
+    public GeminiResponse(String title, String story_text, List<Choice> choices, VisualAssets visual_assets) {
+        this(title, story_text, choices, visual_assets, TokenUsage.EMPTY);
+    }
+
     // 내부용: 선택지 구조
     public record Choice(
             int id,
@@ -20,5 +26,35 @@ public record GeminiResponse(
             String background,       // 오프닝용 배경
             List<String> characters, // 등장인물/몬스터 (GameInit에서는 안쓸 수도 있지만 구조 통일)
             List<String> assets      // 일반 사물 (나중에 사용)
-    ) {}
+    ) {
+        // 프롬프트 결정: '선택'이 아닌 '조합'
+        public String toImagePrompt() {
+            List<String> prompts = new ArrayList<>();
+
+            // 1. 캐릭터 (적/NPC)
+            if (characters != null && !characters.isEmpty()) {
+                prompts.addAll(characters);
+            }
+
+            // 2. 아이템/사물 (상호작용)
+            if (assets != null && !assets.isEmpty()) {
+                prompts.addAll(assets);
+            }
+
+            // 3. 배경 (장소)
+            if (background != null && !background.isBlank()) {
+                prompts.add(background);
+            }
+
+            // 모든 요소가 비어있으면 null 반환 (이미지 생성 안 함)
+            if (prompts.isEmpty()) {
+                return null;
+            }
+
+            // 요소들을 콤마로 연결하여 하나의 풍성한 프롬프트 생성
+            // 예: "bloody zombie, red fire extinguisher, dark subway station"
+            // AI 화가(Flux)가 이 조합을 바탕으로 '지하철에서 소화기가 있는 좀비 씬'을 그려줌
+            return String.join(", ", prompts);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.uctale.uctale.dto;
+
+// 생성이 끝난 오프닝 (스토리 + 이미지 URL), 풀에 보관되거나 즉시 사용됨
+public record PreparedOpening(
+        GeminiResponse geminiResponse,
+        String imageUrl,
+        boolean pooled // 풀에서 꺼낸 오프닝이면 true (토큰은 채울 때 이미 집계됨)
+) {}
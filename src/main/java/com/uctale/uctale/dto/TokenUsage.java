@@ -0,0 +1,13 @@
+package com.uctale.uctale.dto;
+
+// Gemini usageMetadata 중 과금/지연에 영향을 주는 토큰 수
+public record TokenUsage(
+        int promptTokens,     // promptTokenCount (입력)
+        int candidatesTokens  // candidatesTokenCount (출력)
+) {
+    public static final TokenUsage EMPTY = new TokenUsage(0, 0);
+
+    public int totalTokens() {
+        return promptTokens + candidatesTokens;
+    }
+}
@@ -0,0 +1,15 @@
+package com.uctale.uctale.dto;
+
+import java.util.List;
+
+// 턴 토큰에 서명되어 담기는 게임 상태 (DB 조회 없이 다음 턴을 처리하기 위한 최소 컨텍스트)
+public record TurnState(
+        Long sessionId,
+        int turnNumber,          // 이 상태가 가리키는 마지막 턴 번호 (재사용 방지 기준)
+        String worldSetting,
+        String characterSetting,
+        String storyText,        // 직전 스토리
+        List<GeminiResponse.Choice> choices,
+        String imageUrl,         // 직전 이미지 (시각 변화가 없으면 재사용)
+        long issuedAt            // 발급 시각 (epoch millis, 만료 판단용)
+) {}
@@ -3,9 +3,19 @@ package com.uctale.uctale.repository;
 import com.uctale.uctale.domain.GameLog;
 import com.uctale.uctale.domain.GameSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface GameLogRepository extends JpaRepository<GameLog, Long> {
     Optional<GameLog> findTopByGameSessionOrderByTurnNumberDesc(GameSession gameSession);
-}
\ No newline at end of file
+
+    Optional<GameLog> findByGameSessionAndTurnNumber(GameSession gameSession, int turnNumber);
+
+    boolean existsByGameSessionAndTurnNumber(GameSession gameSession, int turnNumber);
+
+    // 세션에 저장된 모든 턴의 토큰 합계 (재시작/다른 노드에서 세션 사용량 복원용)
+    @Query("select coalesce(sum(l.promptTokens + l.candidatesTokens), 0) from GameLog l where l.gameSession.id = :sessionId")
+    long sumTokensBySessionId(@Param("sessionId") Long sessionId);
+}
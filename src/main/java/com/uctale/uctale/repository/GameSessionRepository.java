@@ -2,6 +2,22 @@ package com.uctale.uctale.repository;
 
 import com.uctale.uctale.domain.GameSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface GameSessionRepository extends JpaRepository<GameSession, Long> {
-}
\ No newline at end of file
+
+    // turnNumber 턴에서 다음 턴으로의 진행을 확정 (이미 다른 요청이 진행했다면 0 반환)
+    @Transactional
+    @Modifying
+    @Query("update GameSession s set s.currentTurn = :turnNumber + 1 where s.id = :sessionId and s.currentTurn = :turnNumber")
+    int claimNextTurn(@Param("sessionId") Long sessionId, @Param("turnNumber") int turnNumber);
+
+    // 진행에 실패한 턴의 확정을 되돌려 같은 토큰으로 다시 시도할 수 있게 함
+    @Transactional
+    @Modifying
+    @Query("update GameSession s set s.currentTurn = :turnNumber where s.id = :sessionId and s.currentTurn = :turnNumber + 1")
+    int releaseNextTurn(@Param("sessionId") Long sessionId, @Param("turnNumber") int turnNumber);
+}
@@ -0,0 +1,10 @@
+package com.uctale.uctale.repository;
+
+import com.uctale.uctale.domain.SettingText;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface SettingTextRepository extends JpaRepository<SettingText, Long> {
+    Optional<SettingText> findByHash(String hash);
+}
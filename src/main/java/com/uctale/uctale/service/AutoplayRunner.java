@@ -0,0 +1,38 @@
+package com.uctale.uctale.service;
+
+import com.uctale.uctale.config.AutoplayProperties;
+import com.uctale.uctale.dto.AutoplayReport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * autoplay.enabled=true 로 실행하면 서버 기동 후 자동 플레이를 한 번 수행
+ * 예: java -jar app.jar --spring.profiles.active=autoplay --autoplay.sessions=1000 --autoplay.policy=FIRST
+ * - AOT 빌드(이미지)는 빈 조건을 빌드 시점에 고정하므로 @ConditionalOnProperty 대신 실행 시점에 설정을 확인
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AutoplayRunner implements ApplicationRunner {
+
+    private final AutoplayService autoplayService;
+    private final AutoplayProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!properties.enabled()) return;
+
+        AutoplayReport report = autoplayService.run(properties);
+
+        if (properties.exitOnFinish()) {
+            int exitCode = report.failedSessions() > 0 ? 1 : 0;
+            System.exit(SpringApplication.exit(context, () -> exitCode));
+        }
+    }
+}
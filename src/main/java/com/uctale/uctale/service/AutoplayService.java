@@ -0,0 +1,163 @@
+package com.uctale.uctale.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uctale.uctale.config.AutoplayProperties;
+import com.uctale.uctale.dto.AutoplayReport;
+import com.uctale.uctale.dto.AutoplayTurnRecord;
+import com.uctale.uctale.dto.GameInitRequest;
+import com.uctale.uctale.dto.GameProgressRequest;
+import com.uctale.uctale.dto.GameResponse;
+import com.uctale.uctale.dto.GeminiResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 자동 플레이 엔진
+ * - GameService를 통해 여러 세션을 동시에 끝까지 진행 (가상 스레드 + 동시 실행 수 제한)
+ * - 선택지는 정책(RANDOM/FIRST/SCRIPTED)에 따라 고르고, 매 턴 결과를 JSONL로 바로 기록
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AutoplayService {
+
+    private final GameService gameService;
+    private final TokenUsageService tokenUsageService;
+    private final ObjectMapper objectMapper;
+
+    public AutoplayReport run(AutoplayProperties properties) throws IOException {
+        Path output = Path.of(properties.output());
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+
+        AtomicInteger completedSessions = new AtomicInteger();
+        AtomicInteger failedSessions = new AtomicInteger();
+        LongAdder turns = new LongAdder();
+        LongAdder tokens = new LongAdder();
+
+        log.info("자동 플레이 시작: 세션 {}개 x {}턴, 동시 {}개, 정책 {}",
+                properties.sessions(), properties.turns(), properties.parallelism(), properties.policy());
+        long started = System.nanoTime();
+
+        // executor가 먼저 닫히면서(모든 세션 종료 대기) 그 다음 writer가 닫힘
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Semaphore permits = new Semaphore(Math.max(1, properties.parallelism()));
+
+            for (int i = 1; i <= properties.sessions(); i++) {
+                int sessionIndex = i;
+                executor.submit(() -> {
+                    try {
+                        permits.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    try {
+                        SessionResult result = playSession(sessionIndex, properties, writer);
+                        turns.add(result.turns());
+                        tokens.add(result.tokens());
+                        (result.failed() ? failedSessions : completedSessions).incrementAndGet();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        long totalTurns = turns.sum();
+        long totalTokens = tokens.sum();
+        AutoplayReport report = new AutoplayReport(
+                properties.sessions(),
+                completedSessions.get(),
+                failedSessions.get(),
+                totalTurns,
+                elapsedMillis,
+                elapsedMillis == 0 ? 0 : totalTurns * 1000.0 / elapsedMillis,
+                totalTokens,
+                totalTurns == 0 ? 0 : (double) totalTokens / totalTurns,
+                output.toAbsolutePath().toString()
+        );
+        log.info("자동 플레이 완료: {}", report);
+        return report;
+    }
+
+    private SessionResult playSession(int sessionIndex, AutoplayProperties properties, BufferedWriter writer) {
+        Long sessionId = null;
+        int turn = 1;
+        int played = 0;
+        try {
+            long start = System.nanoTime();
+            GameResponse response = gameService.initGame(new GameInitRequest(properties.worldSetting(), properties.characterSetting()));
+            sessionId = Long.valueOf(response.characterImageUrl());
+            write(writer, toRecord(sessionIndex, sessionId, turn, null, response, start));
+            played++;
+
+            for (int step = 0; step < properties.turns(); step++) {
+                if (response.choices() == null || response.choices().isEmpty()) break; // 더 고를 선택지가 없으면 종료
+
+                int choiceId = pickChoice(properties, response.choices(), step);
+                turn++;
+                start = System.nanoTime();
+                GameProgressRequest request = new GameProgressRequest(sessionId, choiceId, response.turnToken());
+                response = request.turnToken() != null && gameService.isTurnTokenEnabled()
+                        ? gameService.progressGameFromToken(request)
+                        : gameService.progressGame(request);
+                write(writer, toRecord(sessionIndex, sessionId, turn, choiceId, response, start));
+                played++;
+            }
+            return new SessionResult(played, tokenUsageService.sessionTotal(sessionId), false);
+        } catch (Exception e) {
+            log.warn("자동 플레이 세션 {} 실패 ({}턴): {}", sessionIndex, turn, e.getMessage());
+            write(writer, new AutoplayTurnRecord(sessionIndex, sessionId, turn, null, null, null, null, null, 0, e.getMessage()));
+            return new SessionResult(played, tokenUsageService.sessionTotal(sessionId), true);
+        }
+    }
+
+    private int pickChoice(AutoplayProperties properties, List<GeminiResponse.Choice> choices, int step) {
+        return switch (properties.policy()) {
+            case FIRST -> choices.get(0).id();
+            case RANDOM -> choices.get(ThreadLocalRandom.current().nextInt(choices.size())).id();
+            case SCRIPTED -> properties.script().isEmpty()
+                    ? choices.get(0).id()
+                    : properties.script().get(step % properties.script().size());
+        };
+    }
+
+    private AutoplayTurnRecord toRecord(int sessionIndex, Long sessionId, int turn, Integer choiceId,
+                                        GameResponse response, long startNanos) {
+        return new AutoplayTurnRecord(sessionIndex, sessionId, turn, choiceId, response.title(), response.storyText(),
+                response.choices(), response.mainImageUrl(), (System.nanoTime() - startNanos) / 1_000_000, null);
+    }
+
+    private void write(BufferedWriter writer, AutoplayTurnRecord record) {
+        try {
+            String line = objectMapper.writeValueAsString(record);
+            synchronized (writer) {
+                writer.write(line);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("자동 플레이 결과 기록 실패", e);
+        }
+    }
+
+    private record SessionResult(int turns, long tokens, boolean failed) {}
+}
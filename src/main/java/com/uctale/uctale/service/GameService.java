@@ -9,14 +9,16 @@ import com.uctale.uctale.dto.GameInitRequest;
 import com.uctale.uctale.dto.GameProgressRequest;
 import com.uctale.uctale.dto.GameResponse;
 import com.uctale.uctale.dto.GeminiResponse;
+import com.uctale.uctale.dto.PreparedOpening;
+import com.uctale.uctale.dto.TurnState;
 import com.uctale.uctale.repository.GameLogRepository;
 import com.uctale.uctale.repository.GameSessionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -26,38 +28,59 @@ import java.util.List;
 public class GameService {
 
     private final GeminiService geminiService;
+    private final OpeningPoolService openingPoolService;
     private final NanoBananaService nanoBananaService;
     private final GameSessionRepository gameSessionRepository;
     private final GameLogRepository gameLogRepository;
+    private final TurnTokenService turnTokenService;
+    private final TurnPersistenceService turnPersistenceService;
+    private final TokenUsageService tokenUsageService;
+    private final SettingService settingService;
+    private final SceneStateService sceneStateService;
     private final ObjectMapper objectMapper;
 
     /**
      * 게임 초기화 및 오프닝 생성
+     * - 트랜잭션 밖에서 실행: AI 호출 동안 커넥션을 잡지 않고, 설정 저장(별도 트랜잭션)과 커넥션을 겹쳐 잡지 않음
+     * - 세션/오프닝 로그 저장만 TurnPersistenceService의 트랜잭션에서 수행
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public GameResponse initGame(GameInitRequest request) {
-        GeminiResponse geminiResponse = geminiService.getOpening(request);
-
-        // 오프닝은 무조건 이미지를 생성하도록 유도 (없으면 기본값 사용)
-        String imagePrompt = determineImagePrompt(geminiResponse.visual_assets());
-        if (imagePrompt == null || imagePrompt.isBlank()) {
-            imagePrompt = "mysterious atmosphere, " + request.worldSetting();
+        tokenUsageService.checkBudget(null); // 일별 하드 한도 초과 시 거부
+
+        // 인기 프리셋이면 미리 만들어 둔 오프닝 사용, 아니면 즉시 생성
+        PreparedOpening opening = openingPoolService.takeOrCreate(request);
+        GeminiResponse geminiResponse = opening.geminiResponse();
+        String imageUrl = opening.imageUrl();
+
+        // 설정 원문은 내용 해시 기준으로 한 번만 저장하고 세션은 id만 참조
+        Long worldSettingId = settingService.intern(request.worldSetting());
+        Long characterSettingId = settingService.intern(request.characterSetting());
+
+        GameSession session = turnPersistenceService.persistOpening(worldSettingId, characterSettingId,
+                geminiResponse.story_text(), convertChoicesToJson(geminiResponse.choices()), imageUrl,
+                geminiResponse.usage());
+        if (imageUrl != null) {
+            sceneStateService.rendered(session.getId(), geminiResponse.visual_assets());
         }
 
-        String imageUrl = nanoBananaService.generateImage(imagePrompt, "16:9");
-
-        GameSession session = new GameSession(request.worldSetting(), request.characterSetting());
-        gameSessionRepository.save(session);
+        if (opening.pooled()) {
+            tokenUsageService.attribute(session.getId(), geminiResponse.usage());
+        } else {
+            tokenUsageService.record(session.getId(), geminiResponse.usage());
+        }
 
-        String choicesJson = convertChoicesToJson(geminiResponse.choices());
-        GameLog log = new GameLog(session, 1, geminiResponse.story_text(), choicesJson, imageUrl);
-        gameLogRepository.save(log);
+        String turnToken = turnTokenService.issue(new TurnState(session.getId(), 1,
+                request.worldSetting(), request.characterSetting(),
+                geminiResponse.story_text(), geminiResponse.choices(), imageUrl, 0L));
 
         return new GameResponse(
                 geminiResponse.title(),
                 geminiResponse.story_text(),
                 geminiResponse.choices(),
                 imageUrl,
-                session.getId().toString()
+                session.getId().toString(),
+                turnToken
         );
     }
 
@@ -69,74 +92,127 @@ public class GameService {
         GameLog lastLog = gameLogRepository.findTopByGameSessionOrderByTurnNumberDesc(session)
                 .orElseThrow(() -> new IllegalStateException("게임 로그가 없습니다."));
 
+        // 토큰 예산 확인 (소프트 한도 초과 시 절약 모드, 하드 한도 초과 시 예외)
+        boolean economy = tokenUsageService.checkBudget(session.getId()) == TokenUsageService.BudgetLevel.SOFT_LIMIT;
+
+        // 동시 요청 중 하나만 진행 (실패 시 트랜잭션 롤백으로 함께 되돌아감)
+        if (gameSessionRepository.claimNextTurn(session.getId(), lastLog.getTurnNumber()) == 0) {
+            throw new IllegalStateException("이미 진행된 턴입니다.");
+        }
+
         String userChoiceText = findChoiceText(lastLog.getChoicesJson(), request.choiceId());
         lastLog.updateUserChoice(userChoiceText);
 
-        GeminiResponse nextTurnResponse = geminiService.getNextTurn(
-                session.getWorldSetting(),
-                session.getCharacterSetting(),
+        GeminiResponse nextTurnResponse = geminiService.getNextTurnWithPrefix(
+                settingService.getProgressPromptPrefix(session.getWorldSetting().getId(), session.getCharacterSetting().getId()),
                 lastLog.getStoryText(),
-                userChoiceText
+                userChoiceText,
+                economy
         );
+        tokenUsageService.record(session.getId(), nextTurnResponse.usage());
 
         // [핵심] 이미지 생성 판단 로직
-        String imageUrl = lastLog.getImageUrl(); // 기본값: 이전 이미지 유지
-        String newPrompt = determineImagePrompt(nextTurnResponse.visual_assets());
-
-        // 새로운 프롬프트가 '존재할 때만' 생성 (null이면 이전 이미지 재사용)
-        if (newPrompt != null && !newPrompt.isBlank()) {
-            log.info("새로운 이미지 생성 요청: {}", newPrompt);
-            String newImage = nanoBananaService.generateImage(newPrompt, "16:9");
-            if (newImage != null) {
-                imageUrl = newImage;
-            }
-        } else {
-            log.info("시각적 변화 없음 -> 이전 이미지 재사용");
-        }
+        String imageUrl = resolveImageUrl(session.getId(), nextTurnResponse.visual_assets(), lastLog.getImageUrl());
 
         String choicesJson = convertChoicesToJson(nextTurnResponse.choices());
         GameLog newLog = new GameLog(session, lastLog.getTurnNumber() + 1, nextTurnResponse.story_text(), choicesJson, imageUrl);
+        newLog.updatePreviousChoice(userChoiceText);
+        newLog.updateTokenUsage(nextTurnResponse.usage().promptTokens(), nextTurnResponse.usage().candidatesTokens());
         gameLogRepository.save(newLog);
 
+        String turnToken = turnTokenService.issue(new TurnState(session.getId(), newLog.getTurnNumber(),
+                settingService.getText(session.getWorldSetting().getId()), settingService.getText(session.getCharacterSetting().getId()),
+                nextTurnResponse.story_text(), nextTurnResponse.choices(), imageUrl, 0L));
+
         return new GameResponse(
                 nextTurnResponse.title(),
                 nextTurnResponse.story_text(),
                 nextTurnResponse.choices(),
                 imageUrl,
-                session.getId().toString()
+                session.getId().toString(),
+                turnToken
         );
     }
 
-    // [수정] 프롬프트 결정 헬퍼 메서드: '선택'이 아닌 '조합'으로 변경
-    private String determineImagePrompt(GeminiResponse.VisualAssets assets) {
-        if (assets == null) return null;
-
-        List<String> prompts = new ArrayList<>();
+    public boolean isTurnTokenEnabled() {
+        return turnTokenService.isEnabled();
+    }
 
-        // 1. 캐릭터 (적/NPC)
-        if (assets.characters() != null && !assets.characters().isEmpty()) {
-            prompts.addAll(assets.characters());
+    /**
+     * 턴 토큰만으로 게임 진행 (DB는 턴 확정용 조건부 갱신 한 번, 저장은 비동기)
+     * - 어느 노드든 같은 토큰으로 다음 턴을 처리할 수 있도록 세션 컨텍스트를 토큰에서 복원
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public GameResponse progressGameFromToken(GameProgressRequest request) {
+        TurnState state = turnTokenService.verify(request.turnToken());
+        if (request.sessionId() != null && !request.sessionId().equals(state.sessionId())) {
+            throw new IllegalArgumentException("세션 정보가 턴 토큰과 일치하지 않습니다.");
         }
+        boolean economy = tokenUsageService.checkBudget(state.sessionId()) == TokenUsageService.BudgetLevel.SOFT_LIMIT;
 
-        // 2. 아이템/사물 (상호작용)
-        if (assets.assets() != null && !assets.assets().isEmpty()) {
-            prompts.addAll(assets.assets());
+        // AI 호출 전에 DB에서 턴을 확정: 어느 노드로 오든 같은 토큰은 한 번만 진행됨
+        if (gameSessionRepository.claimNextTurn(state.sessionId(), state.turnNumber()) == 0) {
+            throw new IllegalStateException("이미 진행된 턴의 토큰입니다.");
         }
 
-        // 3. 배경 (장소)
-        if (assets.background() != null && !assets.background().isBlank()) {
-            prompts.add(assets.background());
-        }
+        String userChoiceText = state.choices() == null ? "알 수 없는 행동" : state.choices().stream()
+                .filter(c -> c.id() == request.choiceId())
+                .findFirst()
+                .map(GeminiResponse.Choice::text)
+                .orElse("알 수 없는 행동");
 
-        // 모든 요소가 비어있으면 null 반환 (이미지 생성 안 함)
-        if (prompts.isEmpty()) {
-            return null;
+        GeminiResponse nextTurnResponse;
+        String imageUrl;
+        try {
+            nextTurnResponse = geminiService.getNextTurn(
+                    state.worldSetting(),
+                    state.characterSetting(),
+                    state.storyText(),
+                    userChoiceText,
+                    economy
+            );
+            tokenUsageService.record(state.sessionId(), nextTurnResponse.usage());
+
+            imageUrl = resolveImageUrl(state.sessionId(), nextTurnResponse.visual_assets(), state.imageUrl());
+        } catch (RuntimeException e) {
+            // 진행 실패 시 확정을 되돌려 같은 토큰으로 재시도 가능
+            gameSessionRepository.releaseNextTurn(state.sessionId(), state.turnNumber());
+            throw e;
         }
 
-        // 요소들을 콤마로 연결하여 하나의 풍성한 프롬프트 생성
-        // 예: "bloody zombie, red fire extinguisher, dark subway station"
-        // AI 화가(Flux)가 이 조합을 바탕으로 '지하철에서 소화기가 있는 좀비 씬'을 그려줌
-        return String.join(", ", prompts);
+        turnPersistenceService.persistTurn(state.sessionId(), state.turnNumber(), userChoiceText,
+                nextTurnResponse.story_text(), convertChoicesToJson(nextTurnResponse.choices()), imageUrl,
+                nextTurnResponse.usage());
+
+        String turnToken = turnTokenService.issue(new TurnState(state.sessionId(), state.turnNumber() + 1,
+                state.worldSetting(), state.characterSetting(),
+                nextTurnResponse.story_text(), nextTurnResponse.choices(), imageUrl, 0L));
+
+        return new GameResponse(
+                nextTurnResponse.title(),
+                nextTurnResponse.story_text(),
+                nextTurnResponse.choices(),
+                imageUrl,
+                state.sessionId().toString(),
+                turnToken
+        );
+    }
+
+    // 현재 장면과의 차이가 임계값을 넘을 때만 생성 (아니면 이전 이미지 재사용)
+    private String resolveImageUrl(Long sessionId, GeminiResponse.VisualAssets assets, String previousImageUrl) {
+        String imageUrl = previousImageUrl; // 기본값: 이전 이미지 유지
+        GeminiResponse.VisualAssets scene = sceneStateService.sceneToRender(sessionId, assets).orElse(null);
+
+        if (scene != null) {
+            String newPrompt = scene.toImagePrompt();
+            log.info("새로운 이미지 생성 요청: {}", newPrompt);
+            String newImage = nanoBananaService.generateImage(newPrompt, "16:9");
+            if (newImage != null) {
+                imageUrl = newImage;
+                sceneStateService.rendered(sessionId, scene);
+            }
+        }
+        return imageUrl;
     }
 
     private String convertChoicesToJson(List<GeminiResponse.Choice> choices) {
@@ -0,0 +1,188 @@
+package com.uctale.uctale.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 잘리거나 살짝 깨진 모델 출력(JSON)을 최대한 살려내는 복구기
+ * - 마크다운 코드 블록(```json ... ```) 제거, 닫히지 않은 괄호 뒤의 쉼표 제거
+ * - 닫히지 않은 문자열/배열/객체를 닫음 (배열 원소 안에서 잘린 문자열은 그 원소째 버림)
+ * - 그래도 안 되면 마지막 완성된 값(쉼표 위치)까지 잘라내며 재시도
+ */
+class GeminiJsonRepairer {
+
+    private static final Pattern OPENING_FENCE = Pattern.compile("^```[a-zA-Z]*\\s*");
+    private static final Pattern CLOSING_FENCE = Pattern.compile("\\s*```\\s*$");
+    private static final int MAX_CUT_ATTEMPTS = 8;
+
+    private final ObjectMapper objectMapper;
+
+    GeminiJsonRepairer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return 복구된 JSON 트리, 복구할 수 없으면 null
+     */
+    JsonNode repair(String text) {
+        if (text == null) return null;
+
+        String body = CLOSING_FENCE.matcher(OPENING_FENCE.matcher(text.trim()).replaceFirst("")).replaceFirst("");
+        int start = body.indexOf('{');
+        if (start < 0) return null;
+        body = body.substring(start);
+
+        StringBuilder out = new StringBuilder(body.length() + 8);
+        Deque<Character> stack = new ArrayDeque<>();
+        Deque<Integer> elementStarts = new ArrayDeque<>(); // 컨테이너별 현재 원소의 시작 위치 (stack과 같은 순서)
+        List<Cut> cuts = new ArrayList<>();
+        boolean inString = false;
+        boolean escaped = false;
+
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+
+            if (inString) {
+                out.append(c);
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> {
+                    inString = true;
+                    out.append(c);
+                }
+                case '{', '[' -> {
+                    stack.push(c);
+                    out.append(c);
+                    elementStarts.push(out.length());
+                }
+                case '}', ']' -> {
+                    removeTrailingComma(out);
+                    if (!stack.isEmpty()) {
+                        stack.pop();
+                        elementStarts.pop();
+                    }
+                    out.append(c);
+                }
+                case ',' -> {
+                    // 쉼표 직전까지는 완성된 값이므로 최후의 수단으로 잘라낼 지점으로 기록
+                    cuts.add(new Cut(out.length(), closers(stack, 0)));
+                    out.append(c);
+                    if (!stack.isEmpty() && stack.peek() == '[') {
+                        elementStarts.pop();
+                        elementStarts.push(out.length());
+                    }
+                }
+                default -> out.append(c);
+            }
+
+            // 루트 객체가 닫혔으면 뒤따르는 잡음은 무시
+            if (stack.isEmpty()) break;
+        }
+
+        // 1차: 현재 위치에서 그대로 닫아보기
+        StringBuilder closed;
+        int arrayDepth = inString ? innermostArrayDepth(stack) : -1;
+        if (arrayDepth >= 0) {
+            // 배열 원소(선택지 등) 안에서 잘린 문자열: 반쯤 쓰인 원소를 살리지 않고 원소째 버림
+            closed = new StringBuilder(out.substring(0, elementStartAt(elementStarts, arrayDepth)));
+            removeTrailingComma(closed);
+            closed.append(closers(stack, arrayDepth));
+        } else {
+            closed = new StringBuilder(out);
+            if (inString) {
+                if (escaped) closed.setLength(closed.length() - 1);
+                closed.append('"');
+            }
+            trimTrailingWhitespace(closed);
+            if (endsWith(closed, ',')) {
+                closed.setLength(closed.length() - 1);
+            } else if (endsWith(closed, ':')) {
+                closed.append("null");
+            }
+            closed.append(closers(stack, 0));
+        }
+
+        JsonNode node = tryParse(closed.toString());
+        if (node != null) return node;
+
+        // 2차: 마지막으로 완성된 값까지 잘라내고 닫기
+        for (int i = cuts.size() - 1; i >= 0 && i >= cuts.size() - MAX_CUT_ATTEMPTS; i--) {
+            Cut cut = cuts.get(i);
+            node = tryParse(out.substring(0, cut.position()) + cut.closers());
+            if (node != null) return node;
+        }
+        return null;
+    }
+
+    private JsonNode tryParse(String json) {
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            return node != null && node.isObject() ? node : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // fromDepth 번째(0 = 가장 안쪽) 컨테이너부터 바깥까지 닫는 문자열
+    private static String closers(Deque<Character> stack, int fromDepth) {
+        StringBuilder sb = new StringBuilder(stack.size());
+        int depth = 0;
+        for (char open : stack) { // push로 쌓았으므로 가장 안쪽부터 순회
+            if (depth++ < fromDepth) continue;
+            sb.append(open == '{' ? '}' : ']');
+        }
+        return sb.toString();
+    }
+
+    private static int innermostArrayDepth(Deque<Character> stack) {
+        int depth = 0;
+        for (char open : stack) {
+            if (open == '[') return depth;
+            depth++;
+        }
+        return -1;
+    }
+
+    private static int elementStartAt(Deque<Integer> elementStarts, int depth) {
+        int i = 0;
+        for (int start : elementStarts) {
+            if (i++ == depth) return start;
+        }
+        throw new IllegalStateException("원소 시작 위치가 없습니다: " + depth);
+    }
+
+    private static void removeTrailingComma(StringBuilder sb) {
+        int i = sb.length() - 1;
+        while (i >= 0 && Character.isWhitespace(sb.charAt(i))) i--;
+        if (i >= 0 && sb.charAt(i) == ',') {
+            sb.setLength(i);
+        }
+    }
+
+    private static void trimTrailingWhitespace(StringBuilder sb) {
+        int len = sb.length();
+        while (len > 0 && Character.isWhitespace(sb.charAt(len - 1))) len--;
+        sb.setLength(len);
+    }
+
+    private static boolean endsWith(StringBuilder sb, char c) {
+        return !sb.isEmpty() && sb.charAt(sb.length() - 1) == c;
+    }
+
+    private record Cut(int position, String closers) {}
+}
@@ -0,0 +1,238 @@
+package com.uctale.uctale.service;
+
+import com.uctale.uctale.config.GeminiRoutingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini 모델 티어 라우터
+ * - models는 품질 순(앞) → 속도 순(뒤)으로 나열 (예: gemini-2.5-flash, gemini-2.5-flash-lite)
+ * - 모델별 지연시간/오류율을 지수이동평균(EWMA)으로 추적하고,
+ *   요청 종류별 지연 목표(SLO)를 지킬 수 있는 가장 좋은 모델을 고름
+ * - 어떤 모델도 SLO를 못 지키면 오류율 상한 이내 모델 중 추정 지연이 가장 짧은 모델로 강등
+ * - 실패한 호출은 오류율에만 반영 (빠르게 실패하는 429/503이 '빠른 모델'로 보이지 않도록)
+ * - 지연/오류 추정은 샘플이 없는 동안 감쇠하므로, 제외된 모델도 시간이 지나면 다시 시도되어 회복 여부를 확인
+ */
+@Slf4j
+@Component
+public class GeminiModelRouter {
+
+    public enum RequestClass {
+        OPENING(false),     // 게임 시작 (사용자 대기)
+        TURN(false),        // 턴 진행 (사용자 대기)
+        SUMMARY(true),      // 요약 등 백그라운드 작업
+        SPECULATIVE(true);  // 미리 생성 (오프닝 풀 등)
+
+        private final boolean background;
+
+        RequestClass(boolean background) {
+            this.background = background;
+        }
+    }
+
+    private static final double ALPHA = 0.2; // EWMA 가중치 (최근 샘플 비중)
+    private static final long ERROR_HALF_LIFE_MILLIS = 30_000; // 호출이 없는 동안 오류율이 절반으로 줄어드는 시간
+    private static final long LATENCY_HALF_LIFE_MILLIS = 60_000; // 성공 샘플이 없는 동안 추정 지연이 절반으로 줄어드는 시간
+
+    private final List<String> models;
+    private final Map<String, ModelStats> stats = new LinkedHashMap<>();
+    private final Map<RequestClass, Long> sloMillis = new EnumMap<>(RequestClass.class);
+    private final double maxErrorRate;
+    private final double logSampleRate;
+    private final Clock clock;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> successTimers = new LinkedHashMap<>();
+    private final Map<String, Timer> failureTimers = new LinkedHashMap<>();
+    private final Map<String, Counter> routingCounters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GeminiModelRouter(GeminiRoutingProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    GeminiModelRouter(GeminiRoutingProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.models = properties.models().stream()
+                .map(String::trim)
+                .filter(m -> !m.isEmpty())
+                .toList();
+        if (this.models.isEmpty()) {
+            throw new IllegalStateException("gemini.routing.models 설정에 모델이 하나 이상 필요합니다.");
+        }
+
+        this.maxErrorRate = properties.maxErrorRate();
+        this.logSampleRate = properties.logSampleRate();
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+
+        for (RequestClass requestClass : RequestClass.values()) {
+            sloMillis.put(requestClass, requestClass.background ? properties.backgroundSloMs() : properties.foregroundSloMs());
+        }
+
+        for (String model : this.models) {
+            stats.put(model, new ModelStats(clock));
+            successTimers.put(model, Timer.builder("uctale.gemini.latency")
+                    .tag("model", model).tag("outcome", "success").register(meterRegistry));
+            failureTimers.put(model, Timer.builder("uctale.gemini.latency")
+                    .tag("model", model).tag("outcome", "failure").register(meterRegistry));
+        }
+    }
+
+    /**
+     * 요청 종류와 프롬프트 크기에 맞는 모델 선택
+     */
+    public String route(RequestClass requestClass, int promptLength) {
+        long slo = sloMillis.get(requestClass);
+
+        // 백그라운드 작업은 빠르고 저렴한 티어부터, 사용자 요청은 최고 품질 티어부터 검토
+        List<String> candidates = new ArrayList<>(models);
+        if (requestClass.background) {
+            candidates = candidates.reversed();
+        }
+
+        String chosen = null;
+        for (String model : candidates) {
+            ModelStats s = stats.get(model);
+            if (s.errorRate() <= maxErrorRate && s.estimateMillis(promptLength) <= slo) {
+                chosen = model;
+                break;
+            }
+        }
+
+        boolean degraded = chosen == null;
+        if (degraded) {
+            // 부하 상황: SLO를 지킬 수 있는 모델이 없으면 오류율 상한 이내 모델 중 추정 지연이 가장 짧은 모델로
+            // (모두 상한을 넘었으면 오류율이 가장 낮은 모델)
+            chosen = null;
+            double best = Double.MAX_VALUE;
+            for (String model : models) {
+                ModelStats s = stats.get(model);
+                if (s.errorRate() > maxErrorRate) continue;
+                double estimate = s.estimateMillis(promptLength);
+                if (estimate < best) {
+                    best = estimate;
+                    chosen = model;
+                }
+            }
+            if (chosen == null) {
+                double lowestErrorRate = Double.MAX_VALUE;
+                for (String model : models) {
+                    double errorRate = stats.get(model).errorRate();
+                    if (errorRate < lowestErrorRate) {
+                        lowestErrorRate = errorRate;
+                        chosen = model;
+                    }
+                }
+            }
+        }
+
+        routingCounter(chosen, requestClass, degraded).increment();
+
+        if (ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+            ModelStats s = stats.get(chosen);
+            log.info("Gemini 라우팅: class={}, model={}, degraded={}, 추정지연={}ms, 오류율={}, SLO={}ms, prompt={}자",
+                    requestClass, chosen, degraded, Math.round(s.estimateMillis(promptLength)),
+                    String.format("%.2f", s.errorRate()), slo, promptLength);
+        }
+
+        return chosen;
+    }
+
+    // 목록의 마지막 모델 = 가장 빠르고 저렴한 티어
+    public String cheapestModel() {
+        return models.get(models.size() - 1);
+    }
+
+    public void recordSuccess(String model, int promptLength, long elapsedNanos) {
+        ModelStats s = stats.get(model);
+        s.recordLatency(TimeUnit.NANOSECONDS.toMillis(elapsedNanos), promptLength);
+        s.recordOutcome(false);
+        successTimers.get(model).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 실패 지연은 지연 추정에 섞지 않음 (타이머에는 기록)
+    public void recordFailure(String model, int promptLength, long elapsedNanos) {
+        stats.get(model).recordOutcome(true);
+        failureTimers.get(model).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Counter routingCounter(String model, RequestClass requestClass, boolean degraded) {
+        return routingCounters.computeIfAbsent(model + "|" + requestClass + "|" + degraded,
+                key -> Counter.builder("uctale.gemini.routing")
+                        .tag("model", model)
+                        .tag("class", requestClass.name())
+                        .tag("degraded", String.valueOf(degraded))
+                        .register(meterRegistry));
+    }
+
+    // 모델별 지연/오류 이동평균 (샘플이 없으면 낙관적으로 0ms, 오류율 0 추정)
+    private static class ModelStats {
+        private final Clock clock;
+        private double latencyMillis;
+        private double promptLength;
+        private long latencyUpdatedAt;
+        private boolean latencySampled;
+        private double errorRate;
+        private long errorUpdatedAt;
+        private boolean outcomeSampled;
+
+        ModelStats(Clock clock) {
+            this.clock = clock;
+        }
+
+        synchronized void recordLatency(long latency, int prompt) {
+            if (!latencySampled) {
+                latencyMillis = latency;
+                promptLength = prompt;
+                latencySampled = true;
+            } else {
+                double decayed = decayedLatencyMillis();
+                latencyMillis = decayed + ALPHA * (latency - decayed);
+                promptLength += ALPHA * (prompt - promptLength);
+            }
+            latencyUpdatedAt = clock.millis();
+        }
+
+        synchronized void recordOutcome(boolean failed) {
+            double sample = failed ? 1.0 : 0.0;
+            double decayed = errorRate();
+            errorRate = outcomeSampled ? decayed + ALPHA * (sample - decayed) : sample;
+            errorUpdatedAt = clock.millis();
+            outcomeSampled = true;
+        }
+
+        // 평균보다 긴 프롬프트는 그 비율만큼 지연이 늘어난다고 가정
+        synchronized double estimateMillis(int prompt) {
+            if (!latencySampled) return 0;
+            double scale = promptLength > 0 ? Math.max(1.0, prompt / promptLength) : 1.0;
+            return decayedLatencyMillis() * scale;
+        }
+
+        // SLO 초과로 제외되어 샘플이 끊긴 모델도 시간이 지나면 다시 시도되도록 감쇠 적용
+        private double decayedLatencyMillis() {
+            long idle = clock.millis() - latencyUpdatedAt;
+            return latencyMillis * Math.pow(0.5, (double) idle / LATENCY_HALF_LIFE_MILLIS);
+        }
+
+        // 오류로 제외된 모델도 시간이 지나면 다시 시도되도록 감쇠 적용
+        synchronized double errorRate() {
+            if (!outcomeSampled) return 0;
+            long idle = clock.millis() - errorUpdatedAt;
+            return errorRate * Math.pow(0.5, (double) idle / ERROR_HALF_LIFE_MILLIS);
+        }
+    }
+}
@@ -3,8 +3,13 @@ package com.uctale.uctale.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.uctale.uctale.dto.GameInitRequest;
 import com.uctale.uctale.dto.GeminiResponse;
+import com.uctale.uctale.dto.TokenUsage;
+import com.uctale.uctale.service.GeminiModelRouter.RequestClass;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
@@ -19,7 +24,9 @@ import java.util.Map;
 @Service
 public class GeminiService {
 
-    private static final String GEMINI_API_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent";
+    private static final String GEMINI_API_URL = "%s/%s:generateContent";
+    private static final int ECONOMY_STORY_LENGTH = 300; // 절약 모드에서 프롬프트에 남길 직전 스토리 길이
+    private static final int MIN_REPAIRED_CHOICES = 2; // 복구된 응답에 이보다 적게 남으면 선택지 보충 요청
 
     // [수정] 이미지 생성 제어 및 프롬프트 조합을 위한 시스템 프롬프트 강화
     private static final String SYSTEM_INSTRUCTION = """
@@ -57,21 +64,51 @@ public class GeminiService {
             }
             """;
 
+    // 잘린 응답에서 선택지가 사라졌을 때 빠진 부분만 채우기 위한 짧은 프롬프트
+    private static final String CONTINUE_INSTRUCTION = """
+            텍스트 어드벤처 게임의 현재 장면입니다. 플레이어가 고를 수 있는 선택지 2~3개와 시각적 요소만 작성하세요.
+            [현재 장면]: %s
+            
+            [JSON 응답 형식]
+            {
+              "choices": [ { "id": 1, "text": "행동 1 (한국어)" } ],
+              "visual_assets": { "background": "string (English or empty)", "characters": [], "assets": [] }
+            }
+            """;
+
     @Value("${google.ai.api-key}")
     private String apiKey;
 
+    // 자동 플레이/부하 테스트 시 로컬 스텁 서버로 교체 가능
+    @Value("${gemini.api.base-url:https://generativelanguage.googleapis.com/v1beta/models}")
+    private String apiBaseUrl;
+
     private final RestClient restClient;
     private final ObjectMapper objectMapper;
+    private final GeminiModelRouter modelRouter;
+    private final GeminiJsonRepairer jsonRepairer;
+    private final MeterRegistry meterRegistry;
 
-    public GeminiService(ObjectMapper objectMapper, RestClient.Builder builder) {
+    public GeminiService(ObjectMapper objectMapper, RestClient.Builder builder,
+                         GeminiModelRouter modelRouter, MeterRegistry meterRegistry) {
         this.objectMapper = objectMapper;
         this.restClient = builder.build();
+        this.modelRouter = modelRouter;
+        this.meterRegistry = meterRegistry;
+        this.jsonRepairer = new GeminiJsonRepairer(objectMapper);
     }
 
     public GeminiResponse getOpening(GameInitRequest request) {
+        return getOpening(request, RequestClass.OPENING);
+    }
+
+    /**
+     * @param requestClass 오프닝 풀 채우기처럼 사용자가 기다리지 않는 요청은 SPECULATIVE
+     */
+    public GeminiResponse getOpening(GameInitRequest request, RequestClass requestClass) {
         try {
             String requestBody = createRequestBody(createOpeningPrompt(request));
-            String response = callGeminiApi(requestBody);
+            String response = callGeminiApi(requestBody, requestClass);
             return parseGeminiResponse(response);
         } catch (Exception e) {
             log.error("Gemini API Error: {}", e.getMessage());
@@ -80,10 +117,29 @@ public class GeminiService {
     }
 
     public GeminiResponse getNextTurn(String world, String character, String previousStory, String userChoice) {
+        return getNextTurn(world, character, previousStory, userChoice, false);
+    }
+
+    /**
+     * @param economy 토큰 예산 소프트 한도를 넘은 경우 true: 직전 상황을 줄이고 가장 저렴한 모델 사용
+     */
+    public GeminiResponse getNextTurn(String world, String character, String previousStory, String userChoice, boolean economy) {
+        return getNextTurnWithPrefix(renderProgressPrefix(world, character), previousStory, userChoice, economy);
+    }
+
+    /**
+     * @param promptPrefix renderProgressPrefix로 미리 만들어 둔 프롬프트 앞부분 (설정별로 재사용)
+     */
+    public GeminiResponse getNextTurnWithPrefix(String promptPrefix, String previousStory, String userChoice, boolean economy) {
         try {
-            String prompt = createProgressPrompt(world, character, previousStory, userChoice);
-            String requestBody = createRequestBody(prompt);
-            String response = callGeminiApi(requestBody);
+            if (economy && previousStory != null && previousStory.length() > ECONOMY_STORY_LENGTH) {
+                previousStory = "..." + previousStory.substring(previousStory.length() - ECONOMY_STORY_LENGTH);
+            }
+            String prompt = promptPrefix + createProgressPrompt(previousStory, userChoice);
+            String requestBody = createRawRequestBody(prompt);
+            String response = economy
+                    ? callGeminiApi(requestBody, modelRouter.cheapestModel())
+                    : callGeminiApi(requestBody, RequestClass.TURN);
             return parseGeminiResponse(response);
         } catch (Exception e) {
             log.error("Gemini API Progress Error: {}", e.getMessage());
@@ -91,13 +147,27 @@ public class GeminiService {
         }
     }
 
-    private String callGeminiApi(String requestBody) {
-        return restClient.post()
-                .uri(GEMINI_API_URL + "?key=" + apiKey)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(requestBody)
-                .retrieve()
-                .body(String.class);
+    private String callGeminiApi(String requestBody, RequestClass requestClass) {
+        return callGeminiApi(requestBody, modelRouter.route(requestClass, requestBody.length()));
+    }
+
+    private String callGeminiApi(String requestBody, String model) {
+        int promptLength = requestBody.length();
+
+        long start = System.nanoTime();
+        try {
+            String response = restClient.post()
+                    .uri(String.format(GEMINI_API_URL, apiBaseUrl, model) + "?key=" + apiKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(requestBody)
+                    .retrieve()
+                    .body(String.class);
+            modelRouter.recordSuccess(model, promptLength, System.nanoTime() - start);
+            return response;
+        } catch (RuntimeException e) {
+            modelRouter.recordFailure(model, promptLength, System.nanoTime() - start);
+            throw e;
+        }
     }
 
     private String createOpeningPrompt(GameInitRequest request) {
@@ -110,21 +180,33 @@ public class GeminiService {
             """, request.worldSetting(), request.characterSetting());
     }
 
-    private String createProgressPrompt(String world, String character, String previousStory, String userChoice) {
-        return String.format("""
+    /**
+     * 진행 프롬프트 중 세션 내내 바뀌지 않는 앞부분 (시스템 지시 + 세계관 + 캐릭터)
+     */
+    public String renderProgressPrefix(String world, String character) {
+        return SYSTEM_INSTRUCTION + "\n\n" + String.format("""
             [세계관]: %s
             [캐릭터]: %s
+            """, world, character);
+    }
+
+    private String createProgressPrompt(String previousStory, String userChoice) {
+        return String.format("""
             [직전 상황]: %s
             [사용자 행동]: %s
             
             1. 행동에 대한 결과를 서술하고 다음 상황을 제시하세요.
             2. 시각적 변화가 없다면 visual_assets를 비워두어 불필요한 이미지 생성을 막으세요.
-            """, world, character, previousStory, userChoice);
+            """, previousStory, userChoice);
     }
 
     private String createRequestBody(String userPrompt) throws JsonProcessingException {
+        return createRawRequestBody(SYSTEM_INSTRUCTION + "\n\n" + userPrompt);
+    }
+
+    private String createRawRequestBody(String text) throws JsonProcessingException {
         Map<String, Object> requestMap = Map.of(
-                "contents", List.of(Map.of("parts", List.of(Map.of("text", SYSTEM_INSTRUCTION + "\n\n" + userPrompt)))),
+                "contents", List.of(Map.of("parts", List.of(Map.of("text", text)))),
                 "generationConfig", Map.of("response_mime_type", "application/json")
         );
         return objectMapper.writeValueAsString(requestMap);
@@ -137,7 +219,55 @@ public class GeminiService {
         }
 
         String jsonText = apiResponse.candidates().get(0).content().parts().get(0).text();
-        JsonNode rootNode = objectMapper.readTree(jsonText);
+        TokenUsage usage = toTokenUsage(apiResponse.usageMetadata());
+
+        JsonNode rootNode;
+        try {
+            rootNode = objectMapper.readTree(jsonText);
+            countRepair("clean");
+        } catch (JsonProcessingException e) {
+            // 전체 재생성 대신 복구 시도 (잘린 응답, 코드 블록, 끝 쉼표 등)
+            rootNode = jsonRepairer.repair(jsonText);
+            String salvagedStory = rootNode == null ? null : rootNode.path("story_text").asText(null);
+            if (salvagedStory == null || salvagedStory.isBlank()) {
+                countRepair("failed");
+                throw e;
+            }
+
+            ArrayNode completeChoices = completeChoices(rootNode.path("choices"));
+            if (completeChoices.size() >= MIN_REPAIRED_CHOICES) {
+                ((ObjectNode) rootNode).set("choices", completeChoices);
+                countRepair("repaired");
+                log.warn("Gemini JSON 복구 성공 (원문 {}자)", jsonText.length());
+            } else {
+                // 선택지가 잘려나가 온전한 선택지가 부족한 경우: 빠진 필드만 저렴한 모델로 한 번 더 요청
+                GeminiApiResponse continued;
+                try {
+                    continued = requestMissingFields(salvagedStory);
+                } catch (RuntimeException | JsonProcessingException continueError) {
+                    countRepair("failed");
+                    e.addSuppressed(continueError);
+                    throw e;
+                }
+                JsonNode continuedNode = readModelJson(continued);
+                ArrayNode continuedChoices = continuedNode == null ? null : completeChoices(continuedNode.path("choices"));
+                if (continuedChoices == null || continuedChoices.isEmpty()) {
+                    countRepair("failed");
+                    throw e;
+                }
+
+                ObjectNode merged = (ObjectNode) rootNode;
+                merged.set("choices", continuedChoices);
+                if (!merged.path("visual_assets").isObject()) {
+                    merged.set("visual_assets", continuedNode.path("visual_assets"));
+                }
+                TokenUsage continuedUsage = toTokenUsage(continued.usageMetadata());
+                usage = new TokenUsage(usage.promptTokens() + continuedUsage.promptTokens(),
+                        usage.candidatesTokens() + continuedUsage.candidatesTokens());
+                countRepair("continued");
+                log.warn("Gemini JSON 복구 + 선택지 보충 요청 성공 (원문 {}자)", jsonText.length());
+            }
+        }
 
         String title = rootNode.path("title").asText("제목 없음");
         String storyText = rootNode.path("story_text").asText("스토리가 없습니다.");
@@ -180,10 +310,50 @@ public class GeminiService {
 
         GeminiResponse.VisualAssets visualAssets = new GeminiResponse.VisualAssets(background, characters, assets);
 
-        return new GeminiResponse(title, storyText, choices, visualAssets);
+        return new GeminiResponse(title, storyText, choices, visualAssets, usage);
+    }
+
+    // 복구된 선택지 중 내용이 온전한 것만 (잘린 원소는 복구기가 버리지만, 필드가 빠진 객체도 걸러냄)
+    private ArrayNode completeChoices(JsonNode choicesNode) {
+        ArrayNode complete = objectMapper.createArrayNode();
+        if (!choicesNode.isArray()) return complete;
+        for (JsonNode node : choicesNode) {
+            JsonNode text = node.isObject() ? node.path("text") : node;
+            if (text.isTextual() && !text.asText().isBlank()) {
+                complete.add(node);
+            }
+        }
+        return complete;
+    }
+
+    private GeminiApiResponse requestMissingFields(String storyText) throws JsonProcessingException {
+        String requestBody = createRawRequestBody(String.format(CONTINUE_INSTRUCTION, storyText));
+        String response = callGeminiApi(requestBody, modelRouter.cheapestModel());
+        return objectMapper.readValue(response, GeminiApiResponse.class);
+    }
+
+    // 보충 응답은 한 번만 요청하므로 여기서도 복구까지 시도
+    private JsonNode readModelJson(GeminiApiResponse apiResponse) {
+        if (apiResponse.candidates() == null || apiResponse.candidates().isEmpty()) return null;
+        String text = apiResponse.candidates().get(0).content().parts().get(0).text();
+        try {
+            return objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            return jsonRepairer.repair(text);
+        }
+    }
+
+    private void countRepair(String outcome) {
+        meterRegistry.counter("uctale.gemini.json.repair", "outcome", outcome).increment();
+    }
+
+    private TokenUsage toTokenUsage(GeminiApiResponse.UsageMetadata usageMetadata) {
+        if (usageMetadata == null) return TokenUsage.EMPTY;
+        return new TokenUsage(usageMetadata.promptTokenCount(), usageMetadata.candidatesTokenCount());
     }
 
-    private record GeminiApiResponse(List<Candidate> candidates) {
+    private record GeminiApiResponse(List<Candidate> candidates, UsageMetadata usageMetadata) {
+        record UsageMetadata(int promptTokenCount, int candidatesTokenCount) {}
         record Candidate(Content content) {}
         record Content(List<Part> parts) {}
         record Part(String text) {}
@@ -3,7 +3,9 @@ package com.uctale.uctale.service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
 
+import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 
@@ -16,7 +18,10 @@ public class NanoBananaService {
 
     private static final String STYLE_SUFFIX = ", rough charcoal sketch, high contrast black and white, gritty texture, white background, pencil drawing style, no colors, concept art";
 
-    public NanoBananaService() {
+    private final RestClient restClient;
+
+    public NanoBananaService(RestClient.Builder builder) {
+        this.restClient = builder.build();
     }
 
     public String generateImage(String prompt, String aspectRatio) {
@@ -41,4 +46,23 @@ public class NanoBananaService {
             return null;
         }
     }
+
+    /**
+     * 이미지 URL을 미리 한 번 요청하여 렌더링/캐시를 데워둠 (사용자 첫 조회 지연 제거용)
+     * @return 렌더링 성공 여부
+     */
+    public boolean warmImage(String imageUrl) {
+        if (imageUrl == null || imageUrl.isBlank()) return false;
+
+        try {
+            restClient.get()
+                    .uri(URI.create(imageUrl))
+                    .retrieve()
+                    .toBodilessEntity();
+            return true;
+        } catch (Exception e) {
+            log.warn("이미지 예열 실패: {}", e.getMessage());
+            return false;
+        }
+    }
 }
\ No newline at end of file
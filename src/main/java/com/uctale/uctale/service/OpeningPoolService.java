@@ -0,0 +1,232 @@
+package com.uctale.uctale.service;
+
+import com.uctale.uctale.config.OpeningPoolProperties;
+import com.uctale.uctale.dto.GameInitRequest;
+import com.uctale.uctale.dto.GeminiResponse;
+import com.uctale.uctale.dto.PreparedOpening;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 미리 생성해 둔 오프닝 풀
+ * - 인기 프리셋(세계관+캐릭터)에 대해 한가한 시간대의 남는 Gemini 호출량으로 오프닝을 채워둠
+ * - /init 요청이 프리셋과 일치하면 풀에서 O(1)로 꺼내 쓰고, 비어 있으면 즉시 생성
+ */
+@Slf4j
+@Service
+public class OpeningPoolService {
+
+    private final GeminiService geminiService;
+    private final NanoBananaService nanoBananaService;
+    private final TokenUsageService tokenUsageService;
+    private final OpeningPoolProperties properties;
+    private final Clock clock;
+
+    private final List<OpeningPoolProperties.Preset> presets;
+    private final Map<String, Pool> pools = new HashMap<>();
+
+    // 시간당 호출 한도 관리 (채우기 스케줄러는 단일 스레드로 동작)
+    private long quotaHour = -1;
+    private final AtomicInteger quotaUsed = new AtomicInteger();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter bypassCounter;
+    private final Counter refillSuccessCounter;
+    private final Counter refillFailureCounter;
+
+    @Autowired
+    public OpeningPoolService(GeminiService geminiService, NanoBananaService nanoBananaService,
+                              TokenUsageService tokenUsageService,
+                              OpeningPoolProperties properties, MeterRegistry meterRegistry) {
+        this(geminiService, nanoBananaService, tokenUsageService, properties, meterRegistry,
+                Clock.system(ZoneId.of(properties.zone())));
+    }
+
+    OpeningPoolService(GeminiService geminiService, NanoBananaService nanoBananaService,
+                       TokenUsageService tokenUsageService,
+                       OpeningPoolProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.geminiService = geminiService;
+        this.nanoBananaService = nanoBananaService;
+        this.tokenUsageService = tokenUsageService;
+        this.properties = properties;
+        this.clock = clock;
+        this.presets = properties.presets();
+
+        for (int i = 0; i < presets.size(); i++) {
+            OpeningPoolProperties.Preset preset = presets.get(i);
+            Pool pool = new Pool();
+            pools.put(key(preset.worldSetting(), preset.characterSetting()), pool);
+            Gauge.builder("uctale.opening.pool.size", pool.size, AtomicInteger::get)
+                    .description("프리셋별 대기 중인 오프닝 수")
+                    .tag("preset", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+
+        Gauge.builder("uctale.opening.pool.quota.used", quotaUsed, AtomicInteger::get)
+                .description("이번 시간 풀 채우기에 사용한 Gemini 호출 수")
+                .register(meterRegistry);
+
+        this.hitCounter = Counter.builder("uctale.opening.pool.requests").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("uctale.opening.pool.requests").tag("result", "miss").register(meterRegistry);
+        this.bypassCounter = Counter.builder("uctale.opening.pool.requests").tag("result", "bypass").register(meterRegistry);
+        this.refillSuccessCounter = Counter.builder("uctale.opening.pool.refills").tag("result", "success").register(meterRegistry);
+        this.refillFailureCounter = Counter.builder("uctale.opening.pool.refills").tag("result", "failure").register(meterRegistry);
+    }
+
+    /**
+     * 풀에서 오프닝을 꺼내고, 없으면 즉시 생성
+     * - 적중률은 프리셋 요청만으로 계산 (프리셋이 아닌 요청은 bypass로 따로 집계)
+     */
+    public PreparedOpening takeOrCreate(GameInitRequest request) {
+        Pool pool = pools.get(key(request.worldSetting(), request.characterSetting()));
+        if (pool == null) {
+            bypassCounter.increment();
+            return createOpening(request);
+        }
+
+        PreparedOpening pooled = pool.poll();
+        if (pooled != null) {
+            hitCounter.increment();
+            log.info("오프닝 풀 사용 (남은 개수: {})", pool.size.get());
+            return new PreparedOpening(pooled.geminiResponse(), pooled.imageUrl(), true);
+        }
+
+        missCounter.increment();
+        return createOpening(request);
+    }
+
+    /**
+     * Gemini 오프닝 + 첫 이미지 생성 (실시간 경로와 풀 채우기 공용)
+     */
+    public PreparedOpening createOpening(GameInitRequest request) {
+        return createOpening(request, GeminiModelRouter.RequestClass.OPENING);
+    }
+
+    private PreparedOpening createOpening(GameInitRequest request, GeminiModelRouter.RequestClass requestClass) {
+        GeminiResponse geminiResponse = geminiService.getOpening(request, requestClass);
+
+        // 오프닝은 무조건 이미지를 생성하도록 유도 (없으면 기본값 사용)
+        GeminiResponse.VisualAssets visualAssets = geminiResponse.visual_assets();
+        String imagePrompt = visualAssets == null ? null : visualAssets.toImagePrompt();
+        if (imagePrompt == null || imagePrompt.isBlank()) {
+            imagePrompt = "mysterious atmosphere, " + request.worldSetting();
+        }
+
+        String imageUrl = nanoBananaService.generateImage(imagePrompt, "16:9");
+        return new PreparedOpening(geminiResponse, imageUrl, false);
+    }
+
+    /**
+     * 주기적으로 풀을 채움 (한가한 시간대 + 시간당 호출 한도 안에서만)
+     */
+    @Scheduled(fixedDelayString = "${game.opening-pool.refill-interval-ms:60000}",
+            initialDelayString = "${game.opening-pool.refill-interval-ms:60000}")
+    public void refill() {
+        if (!properties.enabled() || presets.isEmpty() || !isOffPeak()) return;
+
+        int created = 0;
+        while (created < properties.refillBatch()) {
+            OpeningPoolProperties.Preset preset = mostNeeded();
+            if (preset == null || !tokenUsageService.hasSpareDailyBudget() || !tryAcquireQuota()) break;
+
+            Pool pool = pools.get(key(preset.worldSetting(), preset.characterSetting()));
+            try {
+                PreparedOpening opening = createOpening(new GameInitRequest(preset.worldSetting(), preset.characterSetting()),
+                        GeminiModelRouter.RequestClass.SPECULATIVE);
+                tokenUsageService.record(null, opening.geminiResponse().usage());
+                if (properties.warmImages()) {
+                    nanoBananaService.warmImage(opening.imageUrl());
+                }
+                pool.offer(opening);
+                refillSuccessCounter.increment();
+                created++;
+            } catch (Exception e) {
+                // 실패 시 이번 주기는 중단하고 다음 주기에 재시도
+                refillFailureCounter.increment();
+                log.warn("오프닝 풀 채우기 실패: {}", e.getMessage());
+                break;
+            }
+        }
+
+        if (created > 0) {
+            log.info("오프닝 풀 채우기: {}개 생성 (이번 시간 호출 {}/{})", created, quotaUsed.get(), properties.maxCallsPerHour());
+        }
+    }
+
+    // 가장 비어 있는 프리셋 선택 (모두 가득 찼으면 null)
+    private OpeningPoolProperties.Preset mostNeeded() {
+        OpeningPoolProperties.Preset target = null;
+        int lowest = properties.sizePerPreset();
+        for (OpeningPoolProperties.Preset preset : presets) {
+            int size = pools.get(key(preset.worldSetting(), preset.characterSetting())).size.get();
+            if (size < lowest) {
+                lowest = size;
+                target = preset;
+            }
+        }
+        return target;
+    }
+
+    private boolean isOffPeak() {
+        int start = properties.offPeakStartHour();
+        int end = properties.offPeakEndHour();
+        if (start == end) return true;
+
+        int hour = ZonedDateTime.now(clock).getHour();
+        return start < end
+                ? hour >= start && hour < end
+                : hour >= start || hour < end; // 자정을 넘기는 구간 (예: 22시 ~ 6시)
+    }
+
+    private boolean tryAcquireQuota() {
+        long currentHour = clock.millis() / 3_600_000L;
+        if (currentHour != quotaHour) {
+            quotaHour = currentHour;
+            quotaUsed.set(0);
+        }
+        if (quotaUsed.get() >= properties.maxCallsPerHour()) {
+            return false;
+        }
+        quotaUsed.incrementAndGet();
+        return true;
+    }
+
+    private static String key(String worldSetting, String characterSetting) {
+        return worldSetting + '\0' + characterSetting;
+    }
+
+    // 프리셋별 대기열 (ConcurrentLinkedQueue.size()는 O(n)이라 개수를 따로 관리)
+    private static class Pool {
+        private final Queue<PreparedOpening> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        void offer(PreparedOpening opening) {
+            queue.offer(opening);
+            size.incrementAndGet();
+        }
+
+        PreparedOpening poll() {
+            PreparedOpening opening = queue.poll();
+            if (opening != null) {
+                size.decrementAndGet();
+            }
+            return opening;
+        }
+    }
+}
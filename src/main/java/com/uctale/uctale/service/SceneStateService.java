@@ -0,0 +1,144 @@
+package com.uctale.uctale.service;
+
+import com.uctale.uctale.config.SceneProperties;
+import com.uctale.uctale.dto.GeminiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 세션별 현재 장면(배경, 등장인물, 사물) 추적
+ * - 현재 이미지에 그려진 장면과 이번 턴 visual_assets의 차이를 점수로 계산
+ * - 점수가 임계값 이상일 때만 새 이미지를 생성하고, 아니면 이전 이미지를 재사용
+ */
+@Slf4j
+@Service
+public class SceneStateService {
+
+    // 변화 종류별 가중치 (배경 변화 = 장면 전환, 새 인물 등장도 기본 임계값만으로 다시 그림)
+    private static final double BACKGROUND_WEIGHT = 1.0;
+    private static final double CHARACTER_ENTER_WEIGHT = 1.0;
+    private static final double CHARACTER_EXIT_WEIGHT = 0.5;
+    private static final double ASSET_WEIGHT = 0.25;
+
+    private final double regenerateThreshold;
+    private final Map<Long, Scene> scenes;
+
+    private final Counter regenerateCounter;
+    private final Counter skipCounter;
+
+    public SceneStateService(MeterRegistry meterRegistry, SceneProperties properties) {
+        this.regenerateThreshold = properties.regenerateThreshold();
+        int maxSessions = properties.maxSessions();
+        this.scenes = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Scene> eldest) {
+                return size() > maxSessions;
+            }
+        });
+
+        this.regenerateCounter = Counter.builder("uctale.scene.images").tag("result", "regenerate").register(meterRegistry);
+        this.skipCounter = Counter.builder("uctale.scene.images").tag("result", "skip").register(meterRegistry);
+    }
+
+    /**
+     * 이번 턴의 시각 요소가 현재 장면과 충분히 다르면 새로 그릴 장면(현재 장면 + 변화)을 반환
+     */
+    public Optional<GeminiResponse.VisualAssets> sceneToRender(Long sessionId, GeminiResponse.VisualAssets assets) {
+        Scene current = scenes.get(sessionId);
+        Scene next = Scene.merge(current, assets);
+        // 추적 중인 장면이 없으면(재시작, 다른 인스턴스) 그릴 것이 있는 한 새로 생성
+        double score = next.isEmpty() ? 0 : current == null ? Double.MAX_VALUE : diffScore(current, next);
+
+        if (score < regenerateThreshold) {
+            skipCounter.increment();
+            log.info("장면 변화 {} < {} -> 이전 이미지 재사용", score, regenerateThreshold);
+            return Optional.empty();
+        }
+
+        regenerateCounter.increment();
+        return Optional.of(next.toVisualAssets());
+    }
+
+    /**
+     * 실제로 이미지가 생성된 장면을 현재 장면으로 기록
+     */
+    public void rendered(Long sessionId, GeminiResponse.VisualAssets assets) {
+        Scene scene = Scene.merge(null, assets);
+        if (!scene.isEmpty()) {
+            scenes.put(sessionId, scene);
+        }
+    }
+
+    private static double diffScore(Scene current, Scene next) {
+        double score = 0;
+        if (!next.background().isEmpty() && !next.background().equals(current.background())) {
+            score += BACKGROUND_WEIGHT;
+        }
+        score += CHARACTER_ENTER_WEIGHT * missingFrom(current.characters(), next.characters());
+        score += CHARACTER_EXIT_WEIGHT * missingFrom(next.characters(), current.characters());
+        score += ASSET_WEIGHT * (missingFrom(current.assets(), next.assets()) + missingFrom(next.assets(), current.assets()));
+        return score;
+    }
+
+    // b에는 있지만 a에는 없는 요소 수
+    private static int missingFrom(Set<String> a, Set<String> b) {
+        int count = 0;
+        for (String s : b) if (!a.contains(s)) count++;
+        return count;
+    }
+
+    // 비교를 위해 소문자/공백 정리한 장면 (빈 필드는 '변화 없음'이므로 현재 값을 유지)
+    private record Scene(String background, Set<String> characters, Set<String> assets) {
+
+        static Scene merge(Scene current, GeminiResponse.VisualAssets assets) {
+            String background = current == null ? "" : current.background();
+            Set<String> characters = current == null ? Set.of() : current.characters();
+            Set<String> items = current == null ? Set.of() : current.assets();
+
+            if (assets != null) {
+                if (assets.background() != null && !assets.background().isBlank()) {
+                    background = normalize(assets.background());
+                }
+                Set<String> newCharacters = normalize(assets.characters());
+                if (!newCharacters.isEmpty()) characters = newCharacters;
+                Set<String> newAssets = normalize(assets.assets());
+                if (!newAssets.isEmpty()) items = newAssets;
+            }
+            return new Scene(background, characters, items);
+        }
+
+        boolean isEmpty() {
+            return background.isEmpty() && characters.isEmpty() && assets.isEmpty();
+        }
+
+        GeminiResponse.VisualAssets toVisualAssets() {
+            return new GeminiResponse.VisualAssets(background, new ArrayList<>(characters), new ArrayList<>(assets));
+        }
+
+        private static String normalize(String value) {
+            return value.trim().toLowerCase(Locale.ROOT);
+        }
+
+        private static Set<String> normalize(List<String> values) {
+            Set<String> result = new LinkedHashSet<>();
+            if (values != null) {
+                for (String value : values) {
+                    if (value != null && !value.isBlank()) result.add(normalize(value));
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.uctale.uctale.service;
+
+import com.uctale.uctale.config.SettingCacheProperties;
+import com.uctale.uctale.domain.SettingText;
+import com.uctale.uctale.repository.SettingTextRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 세계관/캐릭터 설정 텍스트의 중복 제거 저장소
+ * - 원문은 SHA-256 해시 기준으로 SettingText에 한 번만 저장
+ * - id → 원문, (세계관 id, 캐릭터 id) → 미리 렌더링한 프롬프트 앞부분을 크기 제한 LRU로 캐시
+ */
+@Slf4j
+@Service
+public class SettingService {
+
+    private final SettingTextRepository settingTextRepository;
+    private final GeminiService geminiService;
+    private final TransactionTemplate newTransaction;
+
+    private final Map<String, Long> idsByHash;
+    private final Map<Long, String> textsById;
+    private final Map<String, String> promptPrefixes;
+
+    public SettingService(SettingTextRepository settingTextRepository, GeminiService geminiService,
+                          PlatformTransactionManager transactionManager, SettingCacheProperties properties) {
+        this.settingTextRepository = settingTextRepository;
+        this.geminiService = geminiService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.idsByHash = lruCache(properties.cacheSize());
+        this.textsById = lruCache(properties.cacheSize());
+        this.promptPrefixes = lruCache(properties.cacheSize());
+    }
+
+    /**
+     * 설정 텍스트를 저장(이미 있으면 재사용)하고 id 반환
+     * - 트랜잭션 밖에서 호출해야 함: 바깥 트랜잭션이 커넥션을 쥔 채 새 트랜잭션을 열면
+     *   동시 요청이 풀 크기를 넘을 때 서로 커넥션을 기다리며 멈춤
+     */
+    public Long intern(String content) {
+        String hash = sha256(content);
+        Long cached = idsByHash.get(hash);
+        if (cached != null) return cached;
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("설정 저장은 트랜잭션 밖에서 호출해야 합니다.");
+        }
+
+        Long id;
+        try {
+            // 동시에 같은 텍스트를 저장하다 유니크 제약에 걸리면 새 트랜잭션에서 기존 행을 다시 조회
+            id = newTransaction.execute(status -> settingTextRepository.findByHash(hash)
+                    .orElseGet(() -> settingTextRepository.saveAndFlush(new SettingText(hash, content)))
+                    .getId());
+        } catch (DataIntegrityViolationException e) {
+            log.info("설정 텍스트 동시 저장 감지, 기존 행 재사용: {}", hash);
+            id = newTransaction.execute(status -> settingTextRepository.findByHash(hash)
+                    .orElseThrow(() -> new IllegalStateException("설정 텍스트 저장 실패"))
+                    .getId());
+        }
+
+        idsByHash.put(hash, id);
+        textsById.put(id, content);
+        return id;
+    }
+
+    public String getText(Long id) {
+        String cached = textsById.get(id);
+        if (cached != null) return cached;
+
+        String content = settingTextRepository.findById(id)
+                .map(SettingText::getContent)
+                .orElseThrow(() -> new IllegalStateException("존재하지 않는 설정입니다: " + id));
+        textsById.put(id, content);
+        return content;
+    }
+
+    /**
+     * 세계관+캐릭터 조합별로 한 번만 렌더링한 진행 프롬프트 앞부분
+     */
+    public String getProgressPromptPrefix(Long worldSettingId, Long characterSettingId) {
+        String key = worldSettingId + ":" + characterSettingId;
+        String cached = promptPrefixes.get(key);
+        if (cached != null) return cached;
+
+        String prefix = geminiService.renderProgressPrefix(getText(worldSettingId), getText(characterSettingId));
+        promptPrefixes.put(key, prefix);
+        return prefix;
+    }
+
+    private static String sha256(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <K, V> Map<K, V> lruCache(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+}
@@ -0,0 +1,200 @@
+package com.uctale.uctale.service;
+
+import com.uctale.uctale.config.TokenBudgetProperties;
+import com.uctale.uctale.dto.TokenUsage;
+import com.uctale.uctale.repository.GameLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gemini 토큰 사용량 집계 및 예산 관리
+ * - 세션별/전체/일별 사용량을 LongAdder로 잠금 없이 누적
+ * - 소프트 한도 초과: 절약 모드(짧은 프롬프트 + 저렴한 모델), 하드 한도 초과: 턴 거부
+ * - 한도를 0으로 두면 해당 한도는 사용하지 않음
+ * - 메모리에 없는 세션(재시작, 다른 노드)은 저장된 GameLog 토큰 합계로 시작
+ */
+@Slf4j
+@Service
+public class TokenUsageService {
+
+    public enum BudgetLevel { NORMAL, SOFT_LIMIT }
+
+    private static final long IDLE_SESSION_MILLIS = 24 * 60 * 60 * 1000L;
+
+    private final GameLogRepository gameLogRepository;
+    private final Clock clock;
+    private final long sessionSoftLimit;
+    private final long sessionHardLimit;
+    private final long dailySoftLimit;
+    private final long dailyHardLimit;
+
+    private final Map<Long, SessionUsage> sessions = new ConcurrentHashMap<>();
+    private final LongAdder promptTokens = new LongAdder();
+    private final LongAdder candidatesTokens = new LongAdder();
+
+    // 일별 사용량 (날짜가 바뀌면 새 카운터로 교체)
+    private final AtomicReference<DailyUsage> daily;
+
+    private final Counter softLimitCounter;
+    private final Counter hardLimitCounter;
+
+    @Autowired
+    public TokenUsageService(MeterRegistry meterRegistry, GameLogRepository gameLogRepository,
+                             TokenBudgetProperties properties) {
+        this(meterRegistry, gameLogRepository, properties, Clock.system(ZoneId.of(properties.zone())));
+    }
+
+    TokenUsageService(MeterRegistry meterRegistry, GameLogRepository gameLogRepository,
+                      TokenBudgetProperties properties, Clock clock) {
+        this.gameLogRepository = gameLogRepository;
+        this.clock = clock;
+        this.sessionSoftLimit = properties.sessionSoftLimit();
+        this.sessionHardLimit = properties.sessionHardLimit();
+        this.dailySoftLimit = properties.dailySoftLimit();
+        this.dailyHardLimit = properties.dailyHardLimit();
+        this.daily = new AtomicReference<>(new DailyUsage(LocalDate.now(clock)));
+
+        FunctionCounter.builder("uctale.gemini.tokens", promptTokens, LongAdder::sum)
+                .description("누적 Gemini 입력 토큰")
+                .tag("type", "prompt")
+                .register(meterRegistry);
+        FunctionCounter.builder("uctale.gemini.tokens", candidatesTokens, LongAdder::sum)
+                .description("누적 Gemini 출력 토큰")
+                .tag("type", "candidates")
+                .register(meterRegistry);
+        Gauge.builder("uctale.gemini.tokens.daily", this, TokenUsageService::dailyTotal)
+                .description("오늘 사용한 Gemini 토큰")
+                .register(meterRegistry);
+
+        this.softLimitCounter = Counter.builder("uctale.token.budget.exceeded").tag("level", "soft").register(meterRegistry);
+        this.hardLimitCounter = Counter.builder("uctale.token.budget.exceeded").tag("level", "hard").register(meterRegistry);
+    }
+
+    /**
+     * 세션 + 전체 사용량 기록 (sessionId가 null이면 전체만 기록, 예: 오프닝 풀 채우기)
+     */
+    public void record(Long sessionId, TokenUsage usage) {
+        if (usage == null) return;
+
+        promptTokens.add(usage.promptTokens());
+        candidatesTokens.add(usage.candidatesTokens());
+        currentDay().tokens.add(usage.totalTokens());
+
+        attribute(sessionId, usage);
+    }
+
+    /**
+     * 이미 전체 사용량에 기록된 토큰을 세션에만 귀속 (풀에서 꺼낸 오프닝)
+     */
+    public void attribute(Long sessionId, TokenUsage usage) {
+        if (sessionId == null || usage == null) return;
+
+        // 여기서 처음 생기는 세션은 방금 시작된 세션이므로 DB 합계로 채우지 않음
+        SessionUsage session = sessions.computeIfAbsent(sessionId, id -> new SessionUsage(true));
+        session.tokens.add(usage.totalTokens());
+        session.lastUsedAt = clock.millis();
+    }
+
+    /**
+     * 다음 턴을 진행하기 전 예산 확인 (하드 한도 초과 시 IllegalStateException)
+     * @param sessionId 새 게임 시작처럼 세션이 없으면 null (일별 한도만 확인)
+     */
+    public BudgetLevel checkBudget(Long sessionId) {
+        long dailyTotal = dailyTotal();
+        long sessionTotal = sessionTotal(sessionId);
+
+        if (exceeds(dailyTotal, dailyHardLimit) || exceeds(sessionTotal, sessionHardLimit)) {
+            hardLimitCounter.increment();
+            log.warn("토큰 하드 한도 초과: 세션ID={}, 세션={}, 오늘={}", sessionId, sessionTotal, dailyTotal);
+            throw new IllegalStateException("토큰 사용 한도를 초과했습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        if (exceeds(dailyTotal, dailySoftLimit) || exceeds(sessionTotal, sessionSoftLimit)) {
+            softLimitCounter.increment();
+            return BudgetLevel.SOFT_LIMIT;
+        }
+        return BudgetLevel.NORMAL;
+    }
+
+    // 백그라운드 작업(오프닝 풀 등)은 일별 소프트 한도 아래의 남는 예산만 사용
+    public boolean hasSpareDailyBudget() {
+        return !exceeds(dailyTotal(), dailySoftLimit);
+    }
+
+    public long sessionTotal(Long sessionId) {
+        if (sessionId == null) return 0;
+        SessionUsage session = sessions.get(sessionId);
+        if (session == null) {
+            // 세션 한도를 쓰지 않으면 DB를 조회할 필요 없음
+            if (sessionSoftLimit <= 0 && sessionHardLimit <= 0) return 0;
+            session = sessions.computeIfAbsent(sessionId, id -> new SessionUsage(false));
+            session.seed(gameLogRepository.sumTokensBySessionId(sessionId), clock.millis());
+        }
+        return session.tokens.sum();
+    }
+
+    public long dailyTotal() {
+        return currentDay().tokens.sum();
+    }
+
+    private DailyUsage currentDay() {
+        LocalDate today = LocalDate.now(clock);
+        DailyUsage current = daily.get();
+        if (current.date.equals(today)) {
+            return current;
+        }
+
+        DailyUsage next = new DailyUsage(today);
+        if (daily.compareAndSet(current, next)) {
+            // 날짜가 바뀔 때 하루 이상 사용되지 않은 세션 정리
+            long cutoff = clock.millis() - IDLE_SESSION_MILLIS;
+            sessions.values().removeIf(session -> session.lastUsedAt < cutoff);
+            return next;
+        }
+        return daily.get();
+    }
+
+    private static boolean exceeds(long total, long limit) {
+        return limit > 0 && total >= limit;
+    }
+
+    private static class SessionUsage {
+        private final LongAdder tokens = new LongAdder();
+        private volatile long lastUsedAt;
+        private boolean seeded;
+
+        SessionUsage(boolean seeded) {
+            this.seeded = seeded;
+        }
+
+        // 저장된 사용량은 처음 한 번만 더함 (동시에 miss가 나도 중복 합산하지 않음)
+        synchronized void seed(long persistedTokens, long now) {
+            if (seeded) return;
+            seeded = true;
+            tokens.add(persistedTokens);
+            lastUsedAt = now;
+        }
+    }
+
+    private static class DailyUsage {
+        private final LocalDate date;
+        private final LongAdder tokens = new LongAdder();
+
+        DailyUsage(LocalDate date) {
+            this.date = date;
+        }
+    }
+}
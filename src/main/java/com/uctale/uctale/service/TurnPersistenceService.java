@@ -0,0 +1,73 @@
+package com.uctale.uctale.service;
+
+import com.uctale.uctale.domain.GameLog;
+import com.uctale.uctale.domain.GameSession;
+import com.uctale.uctale.dto.TokenUsage;
+import com.uctale.uctale.repository.GameLogRepository;
+import com.uctale.uctale.repository.GameSessionRepository;
+import com.uctale.uctale.repository.SettingTextRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 게임 진행 결과 저장
+ * - 오프닝: 세션과 첫 로그를 한 트랜잭션으로 저장 (트랜잭션 밖에서 실행되는 initGame 용)
+ * - 턴 토큰 모드: 진행된 턴을 비동기로 저장 (응답 경로에서 DB 접근 제거)
+ *   비동기 저장은 순서가 보장되지 않으므로 선택지는 새 턴의 previousChoice에 기록하고,
+ *   이전 턴의 userChoice는 두 행이 모두 저장된 쪽에서 채움
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TurnPersistenceService {
+
+    private final GameSessionRepository gameSessionRepository;
+    private final GameLogRepository gameLogRepository;
+    private final SettingTextRepository settingTextRepository;
+
+    @Transactional
+    public GameSession persistOpening(Long worldSettingId, Long characterSettingId,
+                                      String storyText, String choicesJson, String imageUrl, TokenUsage usage) {
+        // 설정은 이미 저장되어 있으므로 조회 없이 참조만 연결
+        GameSession session = gameSessionRepository.save(new GameSession(
+                settingTextRepository.getReferenceById(worldSettingId),
+                settingTextRepository.getReferenceById(characterSettingId)));
+
+        GameLog openingLog = new GameLog(session, 1, storyText, choicesJson, imageUrl);
+        openingLog.updateTokenUsage(usage.promptTokens(), usage.candidatesTokens());
+        gameLogRepository.save(openingLog);
+        return session;
+    }
+
+    @Async
+    @Transactional
+    public void persistTurn(Long sessionId, int previousTurnNumber, String userChoice,
+                            String storyText, String choicesJson, String imageUrl, TokenUsage usage) {
+        GameSession session = gameSessionRepository.findById(sessionId).orElse(null);
+        if (session == null) {
+            log.warn("턴 저장 생략: 존재하지 않는 세션 {}", sessionId);
+            return;
+        }
+
+        int turnNumber = previousTurnNumber + 1;
+        if (gameLogRepository.existsByGameSessionAndTurnNumber(session, turnNumber)) {
+            // 턴 확정(claimNextTurn)을 통과했다면 생기지 않아야 하는 경우 - 최후 방어
+            log.warn("턴 저장 생략: 세션 {} 의 {}턴이 이미 존재합니다.", sessionId, turnNumber);
+            return;
+        }
+
+        gameLogRepository.findByGameSessionAndTurnNumber(session, previousTurnNumber)
+                .ifPresent(previous -> previous.updateUserChoice(userChoice));
+
+        GameLog newLog = new GameLog(session, turnNumber, storyText, choicesJson, imageUrl);
+        newLog.updatePreviousChoice(userChoice);
+        newLog.updateTokenUsage(usage.promptTokens(), usage.candidatesTokens());
+        // 다음 턴이 먼저 저장된 경우 그 행에 남은 선택을 이번 턴에 반영
+        gameLogRepository.findByGameSessionAndTurnNumber(session, turnNumber + 1)
+                .ifPresent(next -> newLog.updateUserChoice(next.getPreviousChoice()));
+        gameLogRepository.save(newLog);
+    }
+}
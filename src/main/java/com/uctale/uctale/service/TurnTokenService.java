@@ -0,0 +1,195 @@
+package com.uctale.uctale.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uctale.uctale.config.TurnTokenProperties;
+import com.uctale.uctale.dto.TurnState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 서명된(HMAC-SHA256) 턴 상태 토큰 발급/검증
+ * - 토큰 형식: {@code <포맷><payload(base64url)>.<서명(base64url)>}
+ *   (포맷 'z' = deflate 압축된 JSON, 'j' = 압축하지 않은 JSON)
+ * - 위변조: 서명 불일치 시 거부
+ * - 만료: 유효시간이 지난 토큰 거부 (서명은 유효하므로 세션 id를 담아 DB 경로로 이어갈 수 있게 함)
+ * - 재사용 방지는 노드 메모리가 아니라 DB의 세션 턴 번호로 처리 (GameSessionRepository.claimNextTurn)
+ */
+@Slf4j
+@Service
+public class TurnTokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final char FORMAT_COMPRESSED = 'z';
+    private static final char FORMAT_PLAIN = 'j';
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final boolean enabled;
+    private final boolean compress;
+    private final long maxAgeMillis;
+    private final SecretKeySpec secretKey;
+
+    @Autowired
+    public TurnTokenService(ObjectMapper objectMapper, TurnTokenProperties properties) {
+        this(objectMapper, properties, Clock.systemUTC());
+    }
+
+    TurnTokenService(ObjectMapper objectMapper, TurnTokenProperties properties, Clock clock) {
+        String secret = properties.secret();
+        if (properties.enabled() && (secret == null || secret.isBlank())) {
+            throw new IllegalStateException("game.turn-token.secret 설정 없이 턴 토큰 모드를 켤 수 없습니다.");
+        }
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.enabled = properties.enabled();
+        this.compress = properties.compress();
+        this.maxAgeMillis = properties.maxAgeSeconds() * 1000;
+        this.secretKey = enabled ? new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 턴 상태를 서명된 토큰으로 발급 (비활성화 상태면 null)
+     */
+    public String issue(TurnState state) {
+        if (!enabled) return null;
+
+        try {
+            TurnState stamped = new TurnState(state.sessionId(), state.turnNumber(), state.worldSetting(),
+                    state.characterSetting(), state.storyText(), state.choices(), state.imageUrl(), clock.millis());
+            byte[] json = objectMapper.writeValueAsBytes(stamped);
+
+            String body = compress
+                    ? FORMAT_COMPRESSED + ENCODER.encodeToString(deflate(json))
+                    : FORMAT_PLAIN + ENCODER.encodeToString(json);
+
+            return body + "." + ENCODER.encodeToString(sign(body));
+        } catch (Exception e) {
+            throw new IllegalStateException("턴 토큰 발급 실패", e);
+        }
+    }
+
+    /**
+     * 토큰 검증 후 턴 상태 복원
+     * - 서명이 맞지 않거나 형식이 깨졌으면 IllegalArgumentException
+     * - 만료된 토큰이면 ExpiredTurnTokenException (세션 id 포함)
+     */
+    public TurnState verify(String token) {
+        if (!enabled) {
+            throw new IllegalStateException("턴 토큰 모드가 비활성화되어 있습니다.");
+        }
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("유효하지 않은 턴 토큰입니다.");
+        }
+
+        int dot = token.lastIndexOf('.');
+        if (dot <= 1) {
+            throw new IllegalArgumentException("유효하지 않은 턴 토큰입니다.");
+        }
+
+        String body = token.substring(0, dot);
+        TurnState state;
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(body), signature)) {
+                throw new IllegalArgumentException("턴 토큰 서명이 올바르지 않습니다.");
+            }
+
+            byte[] payload = DECODER.decode(body.substring(1));
+            byte[] json = switch (body.charAt(0)) {
+                case FORMAT_COMPRESSED -> inflate(payload);
+                case FORMAT_PLAIN -> payload;
+                default -> throw new IllegalArgumentException("지원하지 않는 턴 토큰 형식입니다.");
+            };
+            state = objectMapper.readValue(json, TurnState.class);
+        } catch (IllegalArgumentException e) {
+            log.warn("턴 토큰 검증 실패: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.warn("턴 토큰 해석 실패: {}", e.getMessage());
+            throw new IllegalArgumentException("유효하지 않은 턴 토큰입니다.", e);
+        }
+
+        if (clock.millis() - state.issuedAt() > maxAgeMillis) {
+            throw new ExpiredTurnTokenException(state.sessionId());
+        }
+
+        return state;
+    }
+
+    private byte[] sign(String body) throws Exception {
+        Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+        mac.init(secretKey);
+        return mac.doFinal(body.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("압축 데이터가 잘렸습니다.");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 만료된 턴 토큰 - 서명은 검증되었으므로 담긴 세션 id는 신뢰할 수 있음
+     */
+    public static class ExpiredTurnTokenException extends IllegalStateException {
+
+        private final Long sessionId;
+
+        public ExpiredTurnTokenException(Long sessionId) {
+            super("만료된 턴 토큰입니다.");
+            this.sessionId = sessionId;
+        }
+
+        public Long getSessionId() {
+            return sessionId;
+        }
+    }
+}
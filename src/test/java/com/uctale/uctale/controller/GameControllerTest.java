@@ -2,9 +2,11 @@ package com.uctale.uctale.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uctale.uctale.dto.GameInitRequest;
+import com.uctale.uctale.dto.GameProgressRequest;
+import com.uctale.uctale.dto.GameResponse;
 import com.uctale.uctale.dto.GeminiResponse;
-import com.uctale.uctale.service.GeminiService;
-import com.uctale.uctale.service.NanoBananaService;
+import com.uctale.uctale.service.GameService;
+import com.uctale.uctale.service.TurnTokenService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,12 +19,13 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(GameController.class)
+@WebMvcTest(controllers = GameController.class, properties = "game.access.password=TEST_PASSWORD")
 class GameControllerTest {
 
     @Autowired
@@ -32,10 +35,7 @@ class GameControllerTest {
     private ObjectMapper objectMapper;
 
     @MockitoBean
-    private GeminiService geminiService;
-
-    @MockitoBean
-    private NanoBananaService nanoBananaService;
+    private GameService gameService;
 
     @Test
     @DisplayName("게임 초기화 요청 시 스토리와 이미지를 조합하여 응답한다")
@@ -43,14 +43,15 @@ class GameControllerTest {
         // given
         GameInitRequest request = new GameInitRequest("좀비 아포칼립스", "김대리");
 
-        GeminiResponse mockGeminiResponse = new GeminiResponse(
+        GameResponse mockGameResponse = new GameResponse(
+                "오프닝",
                 "오프닝 스토리입니다.",
                 List.of(new GeminiResponse.Choice(1, "도망간다")),
-                new GeminiResponse.VisualAssets("dark street", List.of("zombie"), List.of())
+                "data:image/jpeg;base64,TEST_IMAGE_DATA",
+                "1",
+                null
         );
-        given(geminiService.getOpening(any(GameInitRequest.class))).willReturn(mockGeminiResponse);
-
-        given(nanoBananaService.generateImage(any(), any())).willReturn("data:image/jpeg;base64,TEST_IMAGE_DATA");
+        given(gameService.initGame(any(GameInitRequest.class))).willReturn(mockGameResponse);
 
         // when & then
         mockMvc.perform(post("/api/game/init")
@@ -62,4 +63,31 @@ class GameControllerTest {
                 .andExpect(jsonPath("$.mainImageUrl").value("data:image/jpeg;base64,TEST_IMAGE_DATA"))
                 .andExpect(jsonPath("$.choices[0].text").value("도망간다"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("만료된 턴 토큰으로 진행하면 DB에 저장된 턴으로 이어서 진행하고 새 토큰을 돌려준다")
+    void progressGame_ExpiredTokenFallsBackToDatabase() throws Exception {
+        // given
+        GameProgressRequest request = new GameProgressRequest(null, 2, "EXPIRED_TOKEN");
+        given(gameService.isTurnTokenEnabled()).willReturn(true);
+        given(gameService.progressGameFromToken(any(GameProgressRequest.class)))
+                .willThrow(new TurnTokenService.ExpiredTurnTokenException(7L));
+        given(gameService.progressGame(new GameProgressRequest(7L, 2))).willReturn(new GameResponse(
+                "2턴",
+                "이어지는 스토리입니다.",
+                List.of(new GeminiResponse.Choice(1, "숨는다")),
+                null,
+                "7",
+                "NEW_TOKEN"
+        ));
+
+        // when & then
+        mockMvc.perform(post("/api/game/progress")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.storyText").value("이어지는 스토리입니다."))
+                .andExpect(jsonPath("$.turnToken").value("NEW_TOKEN"));
+        verify(gameService).progressGame(new GameProgressRequest(7L, 2));
+    }
+}
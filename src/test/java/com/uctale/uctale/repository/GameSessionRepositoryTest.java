@@ -0,0 +1,66 @@
+package com.uctale.uctale.repository;
+
+import com.uctale.uctale.domain.GameSession;
+import com.uctale.uctale.domain.SettingText;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class GameSessionRepositoryTest {
+
+    @Autowired
+    private GameSessionRepository gameSessionRepository;
+
+    @Autowired
+    private SettingTextRepository settingTextRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private GameSession newSession() {
+        SettingText world = settingTextRepository.save(new SettingText("world-hash", "좀비 아포칼립스"));
+        SettingText character = settingTextRepository.save(new SettingText("character-hash", "김대리"));
+        return new GameSession(world, character);
+    }
+
+    @Test
+    @DisplayName("세션은 설정 원문 행을 참조하고 지연 로딩으로 id를 돌려줘야 한다")
+    void save_ReferencesSettingText() {
+        GameSession saved = gameSessionRepository.saveAndFlush(newSession());
+        entityManager.clear();
+
+        GameSession found = gameSessionRepository.findById(saved.getId()).orElseThrow();
+
+        assertThat(found.getWorldSetting().getContent()).isEqualTo("좀비 아포칼립스");
+        assertThat(found.getCharacterSetting().getId()).isEqualTo(saved.getCharacterSetting().getId());
+    }
+
+    @Test
+    @DisplayName("같은 턴에서의 진행은 한 번만 확정되어야 한다 (토큰 재사용 방지)")
+    void claimNextTurn_OnlyOnce() {
+        Long sessionId = gameSessionRepository.saveAndFlush(newSession()).getId();
+
+        assertThat(gameSessionRepository.claimNextTurn(sessionId, 1)).isEqualTo(1);
+        assertThat(gameSessionRepository.claimNextTurn(sessionId, 1)).isZero();
+
+        // 다음 턴 토큰은 정상적으로 사용 가능
+        assertThat(gameSessionRepository.claimNextTurn(sessionId, 2)).isEqualTo(1);
+        assertThat(gameSessionRepository.claimNextTurn(99_999L, 1)).isZero();
+    }
+
+    @Test
+    @DisplayName("진행에 실패해 확정을 되돌리면 같은 턴을 다시 진행할 수 있어야 한다")
+    void releaseNextTurn_AllowsRetry() {
+        Long sessionId = gameSessionRepository.saveAndFlush(newSession()).getId();
+        gameSessionRepository.claimNextTurn(sessionId, 1);
+
+        assertThat(gameSessionRepository.releaseNextTurn(sessionId, 1)).isEqualTo(1);
+        assertThat(gameSessionRepository.releaseNextTurn(sessionId, 1)).isZero();
+        assertThat(gameSessionRepository.claimNextTurn(sessionId, 1)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,98 @@
+package com.uctale.uctale.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uctale.uctale.config.AutoplayProperties;
+import com.uctale.uctale.dto.AutoplayReport;
+import com.uctale.uctale.dto.GameInitRequest;
+import com.uctale.uctale.dto.GameProgressRequest;
+import com.uctale.uctale.dto.GameResponse;
+import com.uctale.uctale.dto.GeminiResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class AutoplayServiceTest {
+
+    private final GameService gameService = mock(GameService.class);
+    private final TokenUsageService tokenUsageService = mock(TokenUsageService.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AutoplayService autoplayService = new AutoplayService(gameService, tokenUsageService, objectMapper);
+
+    private static final List<GeminiResponse.Choice> CHOICES = List.of(
+            new GeminiResponse.Choice(1, "도망간다"),
+            new GeminiResponse.Choice(2, "싸운다"));
+
+    private AutoplayProperties properties(int sessions, AutoplayProperties.ChoicePolicy policy, List<Integer> script, Path output) {
+        return new AutoplayProperties(true, sessions, 3, 2, policy, script, "좀비 아포칼립스", "김대리", output.toString(), false);
+    }
+
+    @Test
+    @DisplayName("모든 세션을 끝까지 진행하고 턴마다 JSONL 한 줄을 기록해야 한다")
+    void run_WritesEveryTurn(@TempDir Path dir) throws Exception {
+        given(gameService.initGame(any(GameInitRequest.class)))
+                .willReturn(new GameResponse("오프닝", "좀비가 나타났다!", CHOICES, "img-1", "7", null));
+        given(gameService.progressGame(any(GameProgressRequest.class)))
+                .willReturn(new GameResponse("다음", "도망쳤다.", CHOICES, "img-2", "7", null));
+        given(tokenUsageService.sessionTotal(anyLong())).willReturn(1000L);
+
+        Path output = dir.resolve("results.jsonl");
+        AutoplayReport report = autoplayService.run(properties(4, AutoplayProperties.ChoicePolicy.FIRST, null, output));
+
+        List<String> lines = Files.readAllLines(output);
+        assertThat(lines).hasSize(4 * 4); // 세션 4개 x (오프닝 + 3턴)
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.path("sessionId").asLong()).isEqualTo(7L);
+
+        assertThat(report.completedSessions()).isEqualTo(4);
+        assertThat(report.failedSessions()).isZero();
+        assertThat(report.turns()).isEqualTo(16);
+        assertThat(report.totalTokens()).isEqualTo(4000L);
+        verify(gameService, times(12)).progressGame(argThat(request -> request.choiceId() == 1));
+    }
+
+    @Test
+    @DisplayName("SCRIPTED 정책은 지정한 선택지를 순서대로 골라야 한다")
+    void run_ScriptedPolicy(@TempDir Path dir) throws Exception {
+        given(gameService.initGame(any(GameInitRequest.class)))
+                .willReturn(new GameResponse("오프닝", "좀비가 나타났다!", CHOICES, "img-1", "7", null));
+        given(gameService.progressGame(any(GameProgressRequest.class)))
+                .willReturn(new GameResponse("다음", "도망쳤다.", CHOICES, "img-2", "7", null));
+
+        autoplayService.run(properties(1, AutoplayProperties.ChoicePolicy.SCRIPTED, List.of(2, 1), dir.resolve("scripted.jsonl")));
+
+        verify(gameService, times(2)).progressGame(argThat(request -> request.choiceId() == 2));
+        verify(gameService, times(1)).progressGame(argThat(request -> request.choiceId() == 1));
+    }
+
+    @Test
+    @DisplayName("진행 중 오류가 난 세션은 실패로 집계하고 오류 줄을 기록해야 한다")
+    void run_CountsFailures(@TempDir Path dir) throws Exception {
+        given(gameService.initGame(any(GameInitRequest.class)))
+                .willReturn(new GameResponse("오프닝", "좀비가 나타났다!", CHOICES, "img-1", "7", null));
+        given(gameService.progressGame(any(GameProgressRequest.class)))
+                .willThrow(new RuntimeException("AI 서버 연결 실패"));
+
+        Path output = dir.resolve("failed.jsonl");
+        AutoplayReport report = autoplayService.run(properties(2, AutoplayProperties.ChoicePolicy.RANDOM, null, output));
+
+        assertThat(report.failedSessions()).isEqualTo(2);
+        assertThat(report.completedSessions()).isZero();
+        assertThat(Files.readAllLines(output))
+                .filteredOn(line -> line.contains("AI 서버 연결 실패"))
+                .hasSize(2);
+    }
+}
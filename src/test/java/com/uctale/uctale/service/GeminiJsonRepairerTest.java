@@ -0,0 +1,80 @@
+package com.uctale.uctale.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeminiJsonRepairerTest {
+
+    private final GeminiJsonRepairer repairer = new GeminiJsonRepairer(new ObjectMapper());
+
+    @Test
+    @DisplayName("코드 블록과 끝 쉼표가 섞인 응답을 복구해야 한다")
+    void repair_CodeFenceAndTrailingComma() {
+        String text = """
+                ```json
+                { "title": "지하철", "story_text": "불이 꺼졌다.", "choices": [ { "id": 1, "text": "달린다" }, ], }
+                ```
+                """;
+
+        JsonNode node = repairer.repair(text);
+
+        assertThat(node).isNotNull();
+        assertThat(node.path("story_text").asText()).isEqualTo("불이 꺼졌다.");
+        assertThat(node.path("choices")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("선택지 중간에서 잘린 응답은 스토리를 살리고 반쯤 쓰인 선택지는 버려야 한다")
+    void repair_TruncatedInsideChoices() {
+        String text = "{ \"title\": \"복도\", \"story_text\": \"문이 삐걱거린다.\", \"choices\": [ { \"id\": 1, \"text\": \"문을 연";
+
+        JsonNode node = repairer.repair(text);
+
+        assertThat(node).isNotNull();
+        assertThat(node.path("story_text").asText()).isEqualTo("문이 삐걱거린다.");
+        assertThat(node.path("choices")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("두 번째 선택지에서 잘리면 완성된 첫 번째 선택지만 남겨야 한다")
+    void repair_KeepsOnlyCompleteChoices() {
+        String text = "{ \"story_text\": \"좀비다!\", \"choices\": [ { \"id\": 1, \"text\": \"달린다\" }, { \"id\": 2, \"text\": \"숨";
+
+        JsonNode node = repairer.repair(text);
+
+        assertThat(node.path("choices")).hasSize(1);
+        assertThat(node.path("choices").get(0).path("text").asText()).isEqualTo("달린다");
+    }
+
+    @Test
+    @DisplayName("키 이름에서 잘린 응답은 마지막으로 완성된 값까지 잘라내야 한다")
+    void repair_TruncatedInsideKey() {
+        String text = "{ \"title\": \"복도\", \"story_text\": \"문이 삐걱거린다.\", \"cho";
+
+        JsonNode node = repairer.repair(text);
+
+        assertThat(node).isNotNull();
+        assertThat(node.path("story_text").asText()).isEqualTo("문이 삐걱거린다.");
+        assertThat(node.has("choices")).isFalse();
+    }
+
+    @Test
+    @DisplayName("키 뒤 콜론에서 잘리거나 이스케이프 도중 잘린 응답도 복구해야 한다")
+    void repair_TruncatedAfterColonOrEscape() {
+        JsonNode afterColon = repairer.repair("{ \"story_text\": \"좀비다!\", \"choices\":");
+        JsonNode afterEscape = repairer.repair("{ \"story_text\": \"그가 말했다. \\\"도망쳐\\");
+
+        assertThat(afterColon.path("story_text").asText()).isEqualTo("좀비다!");
+        assertThat(afterEscape.path("story_text").asText()).isEqualTo("그가 말했다. \"도망쳐");
+    }
+
+    @Test
+    @DisplayName("JSON 객체가 없는 응답은 null을 반환해야 한다")
+    void repair_NotJson() {
+        assertThat(repairer.repair("죄송합니다. 요청을 처리할 수 없습니다.")).isNull();
+    }
+}
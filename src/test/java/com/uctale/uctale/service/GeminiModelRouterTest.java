@@ -0,0 +1,100 @@
+package com.uctale.uctale.service;
+
+import com.uctale.uctale.config.GeminiRoutingProperties;
+import com.uctale.uctale.service.GeminiModelRouter.RequestClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeminiModelRouterTest {
+
+    private static final String FLASH = "gemini-2.5-flash";
+    private static final String LITE = "gemini-2.5-flash-lite";
+    private static final int PROMPT = 1000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private final GeminiModelRouter router = new GeminiModelRouter(
+            new GeminiRoutingProperties(List.of(FLASH, LITE), 1000, 5000, 0.5, 0), meterRegistry, clock);
+
+    private void success(String model, long millis) {
+        router.recordSuccess(model, PROMPT, TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private void failure(String model, long millis) {
+        router.recordFailure(model, PROMPT, TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    @DisplayName("사용자 요청은 품질 티어부터, 백그라운드 요청은 저렴한 티어부터 골라야 한다")
+    void route_TierOrderByRequestClass() {
+        assertThat(router.route(RequestClass.OPENING, PROMPT)).isEqualTo(FLASH);
+        assertThat(router.route(RequestClass.TURN, PROMPT)).isEqualTo(FLASH);
+        assertThat(router.route(RequestClass.SUMMARY, PROMPT)).isEqualTo(LITE);
+        assertThat(router.route(RequestClass.SPECULATIVE, PROMPT)).isEqualTo(LITE);
+        assertThat(router.cheapestModel()).isEqualTo(LITE);
+    }
+
+    @Test
+    @DisplayName("품질 티어가 SLO를 못 지키면 다음 티어로, 모두 못 지키면 가장 빠른 모델로 강등해야 한다")
+    void route_DegradesOnSlo() {
+        success(FLASH, 2000);
+        success(LITE, 800);
+        assertThat(router.route(RequestClass.TURN, PROMPT)).isEqualTo(LITE);
+
+        // 긴 프롬프트는 추정 지연이 비례해 늘어남 -> 둘 다 SLO 초과
+        assertThat(router.route(RequestClass.TURN, PROMPT * 3)).isEqualTo(LITE);
+        assertThat(meterRegistry.get("uctale.gemini.routing")
+                .tag("model", LITE).tag("class", "TURN").tag("degraded", "true")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("빠르게 실패하는 모델은 지연 추정에 반영하지 않고 오류율로 제외해야 한다")
+    void route_ExcludesFailingModelEvenWhenFast() {
+        success(FLASH, 3000);
+        success(LITE, 2000);
+        for (int i = 0; i < 5; i++) {
+            failure(LITE, 50); // 429/503 즉시 실패
+        }
+
+        // 둘 다 SLO(1000ms) 초과 -> 강등 시 오류율 상한 이내인 FLASH 선택
+        assertThat(router.route(RequestClass.TURN, PROMPT)).isEqualTo(FLASH);
+    }
+
+    @Test
+    @DisplayName("오류로 제외된 모델도 시간이 지나 오류율이 감쇠하면 다시 선택되어야 한다")
+    void route_ErrorRateDecays() {
+        success(FLASH, 500);
+        for (int i = 0; i < 4; i++) {
+            failure(FLASH, 50); // 오류율 0.2 -> 0.36 -> 0.49 -> 0.59
+        }
+        assertThat(router.route(RequestClass.TURN, PROMPT)).isEqualTo(LITE);
+
+        clock.advance(Duration.ofMinutes(2)); // 반감기 30초 x 4
+        assertThat(router.route(RequestClass.TURN, PROMPT)).isEqualTo(FLASH);
+    }
+
+    @Test
+    @DisplayName("SLO 초과로 제외된 모델도 시간이 지나 추정 지연이 감쇠하면 다시 선택되어야 한다")
+    void route_LatencyEstimateRecovers() {
+        success(FLASH, 3000); // 일시적인 지연
+        success(LITE, 500);
+        assertThat(router.route(RequestClass.TURN, PROMPT)).isEqualTo(LITE);
+
+        clock.advance(Duration.ofMinutes(3)); // 반감기 60초 x 3 -> 375ms
+        assertThat(router.route(RequestClass.TURN, PROMPT)).isEqualTo(FLASH);
+
+        // 다시 시도해 정상 지연이 확인되면 계속 품질 티어 유지
+        success(FLASH, 600);
+        assertThat(router.route(RequestClass.TURN, PROMPT)).isEqualTo(FLASH);
+    }
+}
@@ -1,20 +1,29 @@
 package com.uctale.uctale.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uctale.uctale.config.GeminiRoutingProperties;
 import com.uctale.uctale.dto.GameInitRequest;
 import com.uctale.uctale.dto.GeminiResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.client.MockRestServiceServer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 @RestClientTest(GeminiService.class)
+@Import({GeminiModelRouter.class, SimpleMeterRegistry.class})
+@EnableConfigurationProperties(GeminiRoutingProperties.class)
 class GeminiServiceTest {
 
     @Autowired
@@ -58,4 +67,163 @@ class GeminiServiceTest {
         assertThat(response.story_text()).isEqualTo("좀비가 나타났다!");
         assertThat(response.visual_assets().background()).isEqualTo("dark subway");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("응답의 usageMetadata에서 입력/출력 토큰 수를 읽어야 한다")
+    void getNextTurn_ParsesUsageMetadata() {
+        String mockApiResponse = """
+            {
+              "candidates": [
+                {
+                  "content": {
+                    "parts": [
+                      {
+                        "text": "{ \\"story_text\\": \\"문이 열렸다.\\", \\"choices\\": [] }"
+                      }
+                    ]
+                  }
+                }
+              ],
+              "usageMetadata": {
+                "promptTokenCount": 812,
+                "candidatesTokenCount": 143,
+                "totalTokenCount": 955
+              }
+            }
+            """;
+
+        mockServer.expect(requestTo("https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent?key=TEST_API_KEY"))
+                .andRespond(withSuccess(mockApiResponse, MediaType.APPLICATION_JSON));
+
+        GeminiResponse response = geminiService.getNextTurn("좀비 아포칼립스", "김대리", "복도에 서 있다.", "문을 연다");
+
+        assertThat(response.story_text()).isEqualTo("문이 열렸다.");
+        assertThat(response.usage().promptTokens()).isEqualTo(812);
+        assertThat(response.usage().candidatesTokens()).isEqualTo(143);
+    }
+
+    @Test
+    @DisplayName("선택지가 잘린 응답은 스토리를 살리고 빠진 선택지만 저렴한 모델로 보충해야 한다")
+    void getNextTurn_RepairsTruncatedJson() {
+        String truncatedResponse = """
+            {
+              "candidates": [
+                {
+                  "content": {
+                    "parts": [
+                      {
+                        "text": "{ \\"title\\": \\"복도\\", \\"story_text\\": \\"문이 삐걱거린다.\\", \\"choices\\": [ { \\"id"
+                      }
+                    ]
+                  }
+                }
+              ],
+              "usageMetadata": { "promptTokenCount": 800, "candidatesTokenCount": 100 }
+            }
+            """;
+        String continueResponse = """
+            {
+              "candidates": [
+                {
+                  "content": {
+                    "parts": [
+                      {
+                        "text": "{ \\"choices\\": [ { \\"id\\": 1, \\"text\\": \\"문을 연다\\" } ] }"
+                      }
+                    ]
+                  }
+                }
+              ],
+              "usageMetadata": { "promptTokenCount": 50, "candidatesTokenCount": 20 }
+            }
+            """;
+
+        mockServer.expect(requestTo("https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent?key=TEST_API_KEY"))
+                .andRespond(withSuccess(truncatedResponse, MediaType.APPLICATION_JSON));
+        mockServer.expect(requestTo("https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash-lite:generateContent?key=TEST_API_KEY"))
+                .andRespond(withSuccess(continueResponse, MediaType.APPLICATION_JSON));
+
+        GeminiResponse response = geminiService.getNextTurn("좀비 아포칼립스", "김대리", "복도에 서 있다.", "앞으로 간다");
+
+        mockServer.verify();
+        assertThat(response.story_text()).isEqualTo("문이 삐걱거린다.");
+        assertThat(response.choices()).extracting(GeminiResponse.Choice::text).containsExactly("문을 연다");
+        assertThat(response.usage().totalTokens()).isEqualTo(970);
+    }
+
+    @Test
+    @DisplayName("복구 후 온전한 선택지가 2개 미만이면 반쯤 쓰인 선택지를 버리고 선택지를 보충해야 한다")
+    void getNextTurn_ContinuesWhenTooFewCompleteChoices() {
+        String truncatedResponse = """
+            {
+              "candidates": [
+                {
+                  "content": {
+                    "parts": [
+                      {
+                        "text": "{ \\"story_text\\": \\"문이 삐걱거린다.\\", \\"choices\\": [ { \\"id\\": 1, \\"text\\": \\"문을 연다\\" }, { \\"id\\": 2, \\"text\\": \\"뒤로 물"
+                      }
+                    ]
+                  }
+                }
+              ]
+            }
+            """;
+        String continueResponse = """
+            {
+              "candidates": [
+                {
+                  "content": {
+                    "parts": [
+                      {
+                        "text": "{ \\"choices\\": [ { \\"id\\": 1, \\"text\\": \\"문을 연다\\" }, { \\"id\\": 2, \\"text\\": \\"뒤로 물러난다\\" } ] }"
+                      }
+                    ]
+                  }
+                }
+              ]
+            }
+            """;
+
+        mockServer.expect(requestTo("https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent?key=TEST_API_KEY"))
+                .andRespond(withSuccess(truncatedResponse, MediaType.APPLICATION_JSON));
+        mockServer.expect(requestTo("https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash-lite:generateContent?key=TEST_API_KEY"))
+                .andRespond(withSuccess(continueResponse, MediaType.APPLICATION_JSON));
+
+        GeminiResponse response = geminiService.getNextTurn("좀비 아포칼립스", "김대리", "복도에 서 있다.", "앞으로 간다");
+
+        mockServer.verify();
+        assertThat(response.choices()).extracting(GeminiResponse.Choice::text).containsExactly("문을 연다", "뒤로 물러난다");
+    }
+
+    @Test
+    @DisplayName("절약 모드에서는 직전 스토리를 줄이고 가장 저렴한 모델을 호출해야 한다")
+    void getNextTurn_EconomyUsesCheapestModel() {
+        String mockApiResponse = """
+            {
+              "candidates": [
+                {
+                  "content": {
+                    "parts": [
+                      {
+                        "text": "{ \\"story_text\\": \\"문이 열렸다.\\", \\"choices\\": [ { \\"id\\": 1, \\"text\\": \\"들어간다\\" } ] }"
+                      }
+                    ]
+                  }
+                }
+              ]
+            }
+            """;
+        String previousStory = "OLDEST_PART " + "x".repeat(1000) + " LATEST_PART";
+
+        mockServer.expect(requestTo("https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash-lite:generateContent?key=TEST_API_KEY"))
+                .andExpect(content().string(containsString("LATEST_PART")))
+                .andExpect(content().string(not(containsString("OLDEST_PART"))))
+                .andRespond(withSuccess(mockApiResponse, MediaType.APPLICATION_JSON));
+
+        GeminiResponse response = geminiService.getNextTurn("좀비 아포칼립스", "김대리", previousStory, "앞으로 간다", true);
+
+        mockServer.verify();
+        assertThat(response.story_text()).isEqualTo("문이 열렸다.");
+    }
+}
@@ -0,0 +1,162 @@
+package com.uctale.uctale.service;
+
+import com.uctale.uctale.config.OpeningPoolProperties;
+import com.uctale.uctale.dto.GameInitRequest;
+import com.uctale.uctale.dto.GeminiResponse;
+import com.uctale.uctale.dto.PreparedOpening;
+import com.uctale.uctale.dto.TokenUsage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class OpeningPoolServiceTest {
+
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+    private static final OpeningPoolProperties.Preset ZOMBIE = new OpeningPoolProperties.Preset("좀비 아포칼립스", "김대리");
+    private static final OpeningPoolProperties.Preset FANTASY = new OpeningPoolProperties.Preset("중세 판타지", "기사");
+
+    private final GeminiService geminiService = mock(GeminiService.class);
+    private final NanoBananaService nanoBananaService = mock(NanoBananaService.class);
+    private final TokenUsageService tokenUsageService = mock(TokenUsageService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(at(3), SEOUL); // 기본: 새벽 3시 (한가한 시간대)
+
+    @BeforeEach
+    void setUp() {
+        given(geminiService.getOpening(any(GameInitRequest.class), any(GeminiModelRouter.RequestClass.class)))
+                .willReturn(new GeminiResponse("오프닝", "좀비가 나타났다!", List.of(), null, TokenUsage.EMPTY));
+        given(nanoBananaService.generateImage(anyString(), anyString())).willReturn("https://image.example/1");
+        given(tokenUsageService.hasSpareDailyBudget()).willReturn(true);
+    }
+
+    private static Instant at(int hour) {
+        return Instant.parse("2025-01-01T00:00:00Z").atZone(SEOUL).withHour(hour).toInstant();
+    }
+
+    private OpeningPoolService service(int sizePerPreset, int refillBatch, int maxCallsPerHour,
+                                       int offPeakStart, int offPeakEnd, OpeningPoolProperties.Preset... presets) {
+        OpeningPoolProperties properties = new OpeningPoolProperties(true, sizePerPreset, refillBatch, maxCallsPerHour,
+                offPeakStart, offPeakEnd, "Asia/Seoul", false, List.of(presets));
+        return new OpeningPoolService(geminiService, nanoBananaService, tokenUsageService, properties, meterRegistry, clock);
+    }
+
+    private static GameInitRequest request(OpeningPoolProperties.Preset preset) {
+        return new GameInitRequest(preset.worldSetting(), preset.characterSetting());
+    }
+
+    @Test
+    @DisplayName("풀이 비어 있으면 즉시 생성하고, 채워져 있으면 풀에서 꺼내 pooled로 표시해야 한다")
+    void takeOrCreate_MissThenHit() {
+        OpeningPoolService pool = service(1, 1, 10, 2, 8, ZOMBIE);
+
+        PreparedOpening miss = pool.takeOrCreate(request(ZOMBIE));
+        assertThat(miss.pooled()).isFalse();
+        verify(geminiService).getOpening(any(GameInitRequest.class), eq(GeminiModelRouter.RequestClass.OPENING));
+
+        pool.refill();
+        PreparedOpening hit = pool.takeOrCreate(request(ZOMBIE));
+        assertThat(hit.pooled()).isTrue();
+        assertThat(hit.imageUrl()).isEqualTo("https://image.example/1");
+        verify(geminiService, times(1)).getOpening(any(GameInitRequest.class), eq(GeminiModelRouter.RequestClass.OPENING));
+        verify(geminiService, times(1)).getOpening(any(GameInitRequest.class), eq(GeminiModelRouter.RequestClass.SPECULATIVE));
+
+        assertThat(meterRegistry.get("uctale.opening.pool.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("uctale.opening.pool.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("프리셋이 아닌 요청은 풀을 건드리지 않고 즉시 생성하고 bypass로 집계해야 한다")
+    void takeOrCreate_NotPreset() {
+        OpeningPoolService pool = service(1, 1, 10, 2, 8, ZOMBIE);
+        pool.refill();
+
+        PreparedOpening opening = pool.takeOrCreate(new GameInitRequest("우주 정거장", "엔지니어"));
+
+        assertThat(opening.pooled()).isFalse();
+        assertThat(pool.takeOrCreate(request(ZOMBIE)).pooled()).isTrue();
+        assertThat(meterRegistry.get("uctale.opening.pool.requests").tag("result", "bypass").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("uctale.opening.pool.requests").tag("result", "miss").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("가장 비어 있는 프리셋부터 채우고, 모두 가득 차면 멈춰야 한다")
+    void refill_FillsMostNeededFirst() {
+        OpeningPoolService pool = service(2, 10, 10, 2, 8, ZOMBIE, FANTASY);
+        pool.takeOrCreate(request(ZOMBIE)); // 미스 (실시간 생성 1회)
+
+        pool.refill();
+
+        verify(geminiService, times(4)).getOpening(any(GameInitRequest.class), eq(GeminiModelRouter.RequestClass.SPECULATIVE));
+        assertThat(meterRegistry.get("uctale.opening.pool.size").tag("preset", "0").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("uctale.opening.pool.size").tag("preset", "1").gauge().value()).isEqualTo(2);
+
+        pool.takeOrCreate(request(FANTASY)); // 적중 -> FANTASY 1개 남음
+        pool.refill(); // 비어 있는 FANTASY만 하나 채움
+        verify(geminiService, times(3)).getOpening(eq(request(FANTASY)), eq(GeminiModelRouter.RequestClass.SPECULATIVE));
+        verify(geminiService, times(2)).getOpening(eq(request(ZOMBIE)), eq(GeminiModelRouter.RequestClass.SPECULATIVE));
+    }
+
+    @Test
+    @DisplayName("한가한 시간대에만 채우고, 자정을 넘기는 구간도 처리해야 한다")
+    void refill_OnlyOffPeak() {
+        OpeningPoolService overnight = service(1, 1, 10, 22, 6, ZOMBIE);
+
+        clock.set(at(12));
+        overnight.refill();
+        verify(geminiService, never()).getOpening(any(GameInitRequest.class), any(GeminiModelRouter.RequestClass.class));
+
+        clock.set(at(23));
+        overnight.refill();
+        clock.set(at(5));
+        overnight.takeOrCreate(request(ZOMBIE));
+        overnight.refill();
+        verify(geminiService, times(2)).getOpening(any(GameInitRequest.class), eq(GeminiModelRouter.RequestClass.SPECULATIVE));
+
+        OpeningPoolService daytime = service(1, 1, 10, 2, 8, FANTASY);
+        clock.set(at(8)); // 끝 시각은 제외
+        daytime.refill();
+        verify(geminiService, never()).getOpening(eq(request(FANTASY)), any(GeminiModelRouter.RequestClass.class));
+    }
+
+    @Test
+    @DisplayName("시간당 호출 한도를 넘으면 멈추고, 다음 시간에 한도가 초기화되어야 한다")
+    void refill_HourlyQuota() {
+        OpeningPoolService pool = service(10, 5, 2, 2, 8, ZOMBIE);
+
+        pool.refill();
+        pool.refill(); // 같은 시간: 한도 소진
+        verify(geminiService, times(2)).getOpening(any(GameInitRequest.class), eq(GeminiModelRouter.RequestClass.SPECULATIVE));
+        assertThat(meterRegistry.get("uctale.opening.pool.quota.used").gauge().value()).isEqualTo(2);
+
+        clock.advance(Duration.ofHours(1));
+        pool.refill();
+        verify(geminiService, times(4)).getOpening(any(GameInitRequest.class), eq(GeminiModelRouter.RequestClass.SPECULATIVE));
+    }
+
+    @Test
+    @DisplayName("일별 토큰 예산에 여유가 없으면 채우지 않아야 한다")
+    void refill_RespectsDailyBudget() {
+        given(tokenUsageService.hasSpareDailyBudget()).willReturn(false);
+        OpeningPoolService pool = service(1, 1, 10, 2, 8, ZOMBIE);
+
+        pool.refill();
+
+        verify(geminiService, never()).getOpening(any(GameInitRequest.class), any(GeminiModelRouter.RequestClass.class));
+    }
+}
@@ -0,0 +1,74 @@
+package com.uctale.uctale.service;
+
+import com.uctale.uctale.config.SceneProperties;
+import com.uctale.uctale.dto.GeminiResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SceneStateServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SceneStateService sceneStateService = new SceneStateService(meterRegistry, new SceneProperties(1.0, 100));
+
+    private static GeminiResponse.VisualAssets assets(String background, List<String> characters, List<String> items) {
+        return new GeminiResponse.VisualAssets(background, characters, items);
+    }
+
+    @Test
+    @DisplayName("시각 요소가 비어 있거나 사물만 조금 바뀌면 이전 이미지를 재사용해야 한다")
+    void sceneToRender_SkipsMinorChange() {
+        sceneStateService.rendered(1L, assets("Subway platform", List.of("zombie"), List.of()));
+
+        assertThat(sceneStateService.sceneToRender(1L, null)).isEmpty();
+        assertThat(sceneStateService.sceneToRender(1L, assets("", List.of(), List.of()))).isEmpty();
+        assertThat(sceneStateService.sceneToRender(1L, assets("subway platform ", List.of("Zombie"), List.of("crowbar")))).isEmpty();
+
+        assertThat(meterRegistry.get("uctale.scene.images").tag("result", "skip").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("배경이 바뀌면 기존 인물을 유지한 장면으로 새 이미지를 요청해야 한다")
+    void sceneToRender_RegeneratesOnBackgroundChange() {
+        sceneStateService.rendered(1L, assets("subway platform", List.of("zombie"), List.of()));
+
+        GeminiResponse.VisualAssets scene = sceneStateService.sceneToRender(1L, assets("Dark tunnel", List.of(), List.of()))
+                .orElseThrow();
+
+        assertThat(scene.background()).isEqualTo("dark tunnel");
+        assertThat(scene.characters()).containsExactly("zombie");
+        assertThat(meterRegistry.get("uctale.scene.images").tag("result", "regenerate").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("새 인물이 등장하면 배경이 같아도 새 이미지를 요청해야 한다")
+    void sceneToRender_RegeneratesOnCharacterEntrance() {
+        sceneStateService.rendered(1L, assets("abandoned subway", List.of(), List.of())); // 배경만 있는 오프닝
+
+        GeminiResponse.VisualAssets scene = sceneStateService.sceneToRender(1L, assets(null, List.of("zombie"), List.of()))
+                .orElseThrow();
+
+        assertThat(scene.background()).isEqualTo("abandoned subway");
+        assertThat(scene.characters()).containsExactly("zombie");
+    }
+
+    @Test
+    @DisplayName("렌더링되지 않은 작은 변화는 누적되어 임계값을 넘으면 재생성해야 한다")
+    void sceneToRender_AccumulatesUntilRendered() {
+        sceneStateService.rendered(1L, assets("office", List.of("boss", "zombie", "police"), List.of()));
+
+        assertThat(sceneStateService.sceneToRender(1L, assets(null, List.of("boss", "zombie"), List.of()))).isEmpty(); // 퇴장 0.5
+        assertThat(sceneStateService.sceneToRender(1L, assets(null, List.of("boss"), List.of()))).isPresent(); // 퇴장 누적 1.0
+    }
+
+    @Test
+    @DisplayName("추적 중인 장면이 없으면 그릴 요소가 있을 때 새로 생성해야 한다")
+    void sceneToRender_UnknownSession() {
+        assertThat(sceneStateService.sceneToRender(9L, null)).isEmpty();
+        assertThat(sceneStateService.sceneToRender(9L, assets(null, List.of("zombie"), List.of()))).isPresent();
+    }
+}
@@ -0,0 +1,96 @@
+package com.uctale.uctale.service;
+
+import com.uctale.uctale.config.SettingCacheProperties;
+import com.uctale.uctale.domain.SettingText;
+import com.uctale.uctale.repository.SettingTextRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SettingServiceTest {
+
+    private final SettingTextRepository settingTextRepository = mock(SettingTextRepository.class);
+    private final GeminiService geminiService = mock(GeminiService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private SettingService settingService(int cacheSize) {
+        return new SettingService(settingTextRepository, geminiService, transactionManager, new SettingCacheProperties(cacheSize));
+    }
+
+    private static SettingText settingText(Long id, String content) {
+        SettingText settingText = new SettingText("hash-" + id, content);
+        ReflectionTestUtils.setField(settingText, "id", id);
+        return settingText;
+    }
+
+    @Test
+    @DisplayName("같은 설정 텍스트는 한 번만 저장하고 같은 id를 돌려줘야 한다")
+    void intern_SameTextSameId() {
+        given(settingTextRepository.findByHash(anyString())).willReturn(Optional.empty());
+        given(settingTextRepository.saveAndFlush(any(SettingText.class))).willReturn(settingText(1L, "좀비 아포칼립스"));
+        SettingService settingService = settingService(16);
+
+        Long first = settingService.intern("좀비 아포칼립스");
+        Long second = settingService.intern("좀비 아포칼립스");
+
+        assertThat(first).isEqualTo(1L).isEqualTo(second);
+        verify(settingTextRepository, times(1)).saveAndFlush(any(SettingText.class));
+        assertThat(settingService.getText(1L)).isEqualTo("좀비 아포칼립스");
+    }
+
+    @Test
+    @DisplayName("캐시에 없어도 이미 저장된 행이 있으면 새로 저장하지 않아야 한다")
+    void intern_ReusesStoredRow() {
+        given(settingTextRepository.findByHash(anyString())).willReturn(Optional.of(settingText(3L, "평범한 회사원 김대리")));
+
+        Long id = settingService(16).intern("평범한 회사원 김대리");
+
+        assertThat(id).isEqualTo(3L);
+        verify(settingTextRepository, times(0)).saveAndFlush(any(SettingText.class));
+    }
+
+    @Test
+    @DisplayName("캐시 크기를 넘으면 가장 오래 쓰지 않은 항목부터 밀려나야 한다")
+    void intern_EvictsLeastRecentlyUsed() {
+        given(settingTextRepository.findByHash(anyString())).willReturn(Optional.empty());
+        given(settingTextRepository.saveAndFlush(any(SettingText.class))).willReturn(
+                settingText(1L, "a"), settingText(2L, "b"), settingText(3L, "c"));
+        given(settingTextRepository.findById(1L)).willReturn(Optional.of(settingText(1L, "a")));
+        SettingService settingService = settingService(2);
+
+        settingService.intern("a");
+        settingService.intern("b");
+        settingService.intern("c"); // "a" 밀려남
+
+        assertThat(settingService.getText(1L)).isEqualTo("a");
+        verify(settingTextRepository, times(1)).findById(1L);
+        settingService.getText(3L); // 캐시 적중
+        verify(settingTextRepository, times(0)).findById(3L);
+    }
+
+    @Test
+    @DisplayName("동시 저장으로 유니크 제약에 걸리면 먼저 저장된 행의 id를 사용해야 한다")
+    void intern_DuplicateInsertFallsBackToExistingRow() {
+        given(settingTextRepository.findByHash(anyString()))
+                .willReturn(Optional.empty(), Optional.of(settingText(5L, "좀비 아포칼립스")));
+        given(settingTextRepository.saveAndFlush(any(SettingText.class)))
+                .willThrow(new DataIntegrityViolationException("duplicate hash"));
+
+        Long id = settingService(16).intern("좀비 아포칼립스");
+
+        assertThat(id).isEqualTo(5L);
+        verify(settingTextRepository, times(2)).findByHash(anyString());
+    }
+}
@@ -0,0 +1,144 @@
+package com.uctale.uctale.service;
+
+import com.uctale.uctale.config.TokenBudgetProperties;
+import com.uctale.uctale.dto.TokenUsage;
+import com.uctale.uctale.repository.GameLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TokenUsageServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GameLogRepository gameLogRepository = mock(GameLogRepository.class);
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T03:00:00Z"), ZoneId.of("Asia/Seoul"));
+
+    private TokenUsageService service(long sessionSoft, long sessionHard, long dailySoft, long dailyHard) {
+        return new TokenUsageService(meterRegistry, gameLogRepository,
+                new TokenBudgetProperties(sessionSoft, sessionHard, dailySoft, dailyHard, "Asia/Seoul"), clock);
+    }
+
+    private static TokenUsage usage(int prompt, int candidates) {
+        return new TokenUsage(prompt, candidates);
+    }
+
+    private double exceeded(String level) {
+        return meterRegistry.get("uctale.token.budget.exceeded").tag("level", level).counter().count();
+    }
+
+    @Test
+    @DisplayName("세션 사용량이 소프트 한도를 넘으면 절약 모드, 하드 한도를 넘으면 거부해야 한다")
+    void checkBudget_SessionLimits() {
+        TokenUsageService tokenUsageService = service(100, 200, 0, 0);
+
+        tokenUsageService.record(1L, usage(40, 10));
+        assertThat(tokenUsageService.checkBudget(1L)).isEqualTo(TokenUsageService.BudgetLevel.NORMAL);
+
+        tokenUsageService.record(1L, usage(40, 20));
+        assertThat(tokenUsageService.checkBudget(1L)).isEqualTo(TokenUsageService.BudgetLevel.SOFT_LIMIT);
+        assertThat(tokenUsageService.checkBudget(2L)).isEqualTo(TokenUsageService.BudgetLevel.NORMAL); // 다른 세션은 영향 없음
+
+        tokenUsageService.record(1L, usage(90, 10));
+        assertThatThrownBy(() -> tokenUsageService.checkBudget(1L))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(exceeded("soft")).isEqualTo(1);
+        assertThat(exceeded("hard")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("메모리에 없는 세션은 저장된 턴의 토큰 합계에서 시작해 한도를 적용해야 한다")
+    void checkBudget_SeedsFromStoredLogs() {
+        TokenUsageService tokenUsageService = service(100, 200, 0, 0);
+        given(gameLogRepository.sumTokensBySessionId(1L)).willReturn(150L); // 재시작 전까지 사용한 토큰
+
+        assertThat(tokenUsageService.checkBudget(1L)).isEqualTo(TokenUsageService.BudgetLevel.SOFT_LIMIT);
+
+        tokenUsageService.record(1L, usage(40, 10));
+        assertThatThrownBy(() -> tokenUsageService.checkBudget(1L))
+                .isInstanceOf(IllegalStateException.class);
+        verify(gameLogRepository, times(1)).sumTokensBySessionId(1L); // 한 번만 조회
+    }
+
+    @Test
+    @DisplayName("새로 시작한 세션과 세션 한도를 쓰지 않는 경우에는 저장된 토큰을 조회하지 않아야 한다")
+    void sessionTotal_SkipsSeedWhenNotNeeded() {
+        TokenUsageService tokenUsageService = service(100, 200, 0, 0);
+        tokenUsageService.attribute(1L, usage(30, 0)); // 오프닝 직후 (이미 DB에 저장된 토큰)
+        assertThat(tokenUsageService.sessionTotal(1L)).isEqualTo(30);
+
+        service(0, 0, 100, 200).checkBudget(2L);
+
+        verify(gameLogRepository, never()).sumTokensBySessionId(anyLong());
+    }
+
+    @Test
+    @DisplayName("일별 사용량이 소프트 한도를 넘으면 모든 세션이 절약 모드, 하드 한도를 넘으면 새 게임도 거부해야 한다")
+    void checkBudget_DailyLimits() {
+        TokenUsageService tokenUsageService = service(0, 0, 100, 200);
+
+        tokenUsageService.record(1L, usage(60, 0));
+        tokenUsageService.record(null, usage(50, 0)); // 오프닝 풀 채우기
+        assertThat(tokenUsageService.checkBudget(2L)).isEqualTo(TokenUsageService.BudgetLevel.SOFT_LIMIT);
+        assertThat(tokenUsageService.hasSpareDailyBudget()).isFalse();
+
+        tokenUsageService.record(3L, usage(100, 0));
+        assertThatThrownBy(() -> tokenUsageService.checkBudget(null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("한도를 0으로 두면 사용하지 않아야 한다")
+    void checkBudget_Disabled() {
+        TokenUsageService tokenUsageService = service(0, 0, 0, 0);
+
+        tokenUsageService.record(1L, usage(1_000_000, 1_000_000));
+
+        assertThat(tokenUsageService.checkBudget(1L)).isEqualTo(TokenUsageService.BudgetLevel.NORMAL);
+        assertThat(tokenUsageService.hasSpareDailyBudget()).isTrue();
+    }
+
+    @Test
+    @DisplayName("풀에서 꺼낸 오프닝 토큰은 세션에만 귀속하고 일별/전체 사용량은 다시 늘리지 않아야 한다")
+    void attribute_DoesNotDoubleCount() {
+        TokenUsageService tokenUsageService = service(0, 0, 0, 0);
+
+        tokenUsageService.record(null, usage(70, 30)); // 채울 때 전체에 기록
+        tokenUsageService.attribute(1L, usage(70, 30)); // 꺼낼 때 세션에 귀속
+
+        assertThat(tokenUsageService.sessionTotal(1L)).isEqualTo(100);
+        assertThat(tokenUsageService.dailyTotal()).isEqualTo(100);
+        assertThat(meterRegistry.get("uctale.gemini.tokens").tag("type", "prompt").functionCounter().count()).isEqualTo(70);
+        assertThat(meterRegistry.get("uctale.gemini.tokens").tag("type", "candidates").functionCounter().count()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("날짜가 바뀌면 일별 사용량이 초기화되고 하루 넘게 쉬던 세션은 정리되어야 한다")
+    void currentDay_RollsOver() {
+        TokenUsageService tokenUsageService = service(0, 0, 100, 0);
+        tokenUsageService.record(1L, usage(100, 0));
+        assertThat(tokenUsageService.checkBudget(null)).isEqualTo(TokenUsageService.BudgetLevel.SOFT_LIMIT);
+
+        clock.advance(Duration.ofHours(12)); // 다음 날 (Asia/Seoul 기준)
+        tokenUsageService.record(2L, usage(10, 0));
+        assertThat(tokenUsageService.dailyTotal()).isEqualTo(10);
+        assertThat(tokenUsageService.checkBudget(null)).isEqualTo(TokenUsageService.BudgetLevel.NORMAL);
+        assertThat(tokenUsageService.sessionTotal(1L)).isEqualTo(100); // 아직 하루가 지나지 않음
+
+        clock.advance(Duration.ofDays(1));
+        tokenUsageService.dailyTotal();
+        assertThat(tokenUsageService.sessionTotal(1L)).isZero();
+    }
+}
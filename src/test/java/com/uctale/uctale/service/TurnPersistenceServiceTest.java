@@ -0,0 +1,56 @@
+package com.uctale.uctale.service;
+
+import com.uctale.uctale.domain.GameLog;
+import com.uctale.uctale.domain.GameSession;
+import com.uctale.uctale.domain.SettingText;
+import com.uctale.uctale.dto.TokenUsage;
+import com.uctale.uctale.repository.GameLogRepository;
+import com.uctale.uctale.repository.GameSessionRepository;
+import com.uctale.uctale.repository.SettingTextRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class TurnPersistenceServiceTest {
+
+    @Autowired
+    private GameSessionRepository gameSessionRepository;
+
+    @Autowired
+    private GameLogRepository gameLogRepository;
+
+    @Autowired
+    private SettingTextRepository settingTextRepository;
+
+    // @Async 프록시 없이 테스트 트랜잭션 안에서 순서대로 실행
+    private TurnPersistenceService turnPersistenceService() {
+        return new TurnPersistenceService(gameSessionRepository, gameLogRepository, settingTextRepository);
+    }
+
+    @Test
+    @DisplayName("비동기 저장 순서가 뒤바뀌어도 각 턴의 사용자 선택이 남아야 한다")
+    void persistTurn_OutOfOrder() {
+        TurnPersistenceService turnPersistenceService = turnPersistenceService();
+        TokenUsage usage = new TokenUsage(10, 20);
+        Long worldId = settingTextRepository.save(new SettingText("world-hash", "좀비 아포칼립스")).getId();
+        Long characterId = settingTextRepository.save(new SettingText("character-hash", "김대리")).getId();
+        GameSession session = turnPersistenceService.persistOpening(worldId, characterId, "1턴", "[]", null, usage);
+
+        // 3턴 저장이 2턴 저장보다 먼저 실행된 경우
+        turnPersistenceService.persistTurn(session.getId(), 2, "싸운다", "3턴", "[]", null, usage);
+        turnPersistenceService.persistTurn(session.getId(), 1, "도망간다", "2턴", "[]", null, usage);
+
+        assertThat(log(session, 1).getUserChoice()).isEqualTo("도망간다");
+        assertThat(log(session, 2).getPreviousChoice()).isEqualTo("도망간다");
+        assertThat(log(session, 2).getUserChoice()).isEqualTo("싸운다");
+        assertThat(log(session, 3).getPreviousChoice()).isEqualTo("싸운다");
+    }
+
+    private GameLog log(GameSession session, int turnNumber) {
+        return gameLogRepository.findByGameSessionAndTurnNumber(session, turnNumber).orElseThrow();
+    }
+}
@@ -0,0 +1,118 @@
+package com.uctale.uctale.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uctale.uctale.config.TurnTokenProperties;
+import com.uctale.uctale.dto.GeminiResponse;
+import com.uctale.uctale.dto.TurnState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TurnTokenServiceTest {
+
+    private static final String SECRET = "TEST_TURN_TOKEN_SECRET";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    private TurnTokenService turnTokenService;
+
+    @BeforeEach
+    void setUp() {
+        turnTokenService = new TurnTokenService(objectMapper, new TurnTokenProperties(true, SECRET, true, 60),
+                Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private TurnState state(int turnNumber) {
+        return new TurnState(1L, turnNumber, "좀비 아포칼립스", "김대리", "좀비가 나타났다!",
+                List.of(new GeminiResponse.Choice(1, "도망간다"), new GeminiResponse.Choice(2, "싸운다")),
+                "https://image.example/1", 0L);
+    }
+
+    @Test
+    @DisplayName("발급한 토큰을 검증하면 턴 상태가 그대로 복원되어야 한다")
+    void issueAndVerify_RoundTrip() {
+        String token = turnTokenService.issue(state(1));
+
+        TurnState restored = turnTokenService.verify(token);
+
+        assertThat(token).startsWith("z");
+        assertThat(restored.sessionId()).isEqualTo(1L);
+        assertThat(restored.turnNumber()).isEqualTo(1);
+        assertThat(restored.storyText()).isEqualTo("좀비가 나타났다!");
+        assertThat(restored.choices()).hasSize(2);
+        assertThat(restored.issuedAt()).isEqualTo(now.toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("압축하지 않는 설정에서도 토큰이 정상적으로 검증되어야 한다")
+    void issueAndVerify_Plain() {
+        TurnTokenService plain = new TurnTokenService(objectMapper, new TurnTokenProperties(true, SECRET, false, 60),
+                Clock.fixed(now, ZoneOffset.UTC));
+
+        String token = plain.issue(state(1));
+
+        assertThat(token).startsWith("j");
+        assertThat(plain.verify(token).worldSetting()).isEqualTo("좀비 아포칼립스");
+    }
+
+    @Test
+    @DisplayName("payload가 변조된 토큰은 거부해야 한다")
+    void verify_TamperedPayload() {
+        TurnTokenService plain = new TurnTokenService(objectMapper, new TurnTokenProperties(true, SECRET, false, 60),
+                Clock.fixed(now, ZoneOffset.UTC));
+        String token = plain.issue(state(1));
+
+        String body = token.substring(1, token.lastIndexOf('.'));
+        String json = new String(Base64.getUrlDecoder().decode(body), StandardCharsets.UTF_8).replace("좀비가 나타났다!", "보물을 찾았다!");
+        String forged = "j" + Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8))
+                + token.substring(token.lastIndexOf('.'));
+
+        assertThatThrownBy(() -> plain.verify(forged))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("서명이 변조되었거나 다른 비밀키로 서명된 토큰은 거부해야 한다")
+    void verify_TamperedSignature() {
+        String token = turnTokenService.issue(state(1));
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char first = token.charAt(signatureStart);
+        String flipped = token.substring(0, signatureStart) + (first == 'A' ? 'B' : 'A') + token.substring(signatureStart + 1);
+
+        TurnTokenService otherKey = new TurnTokenService(objectMapper, new TurnTokenProperties(true, "OTHER_SECRET", true, 60),
+                Clock.fixed(now, ZoneOffset.UTC));
+
+        assertThatThrownBy(() -> turnTokenService.verify(flipped))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> otherKey.verify(token))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> turnTokenService.verify("garbage"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("유효시간이 지난 토큰은 세션 id를 담은 만료 예외로 거부해야 한다")
+    void verify_Expired() {
+        String token = turnTokenService.issue(state(1));
+
+        TurnTokenService later = new TurnTokenService(objectMapper, new TurnTokenProperties(true, SECRET, true, 60),
+                Clock.fixed(now.plus(Duration.ofSeconds(61)), ZoneOffset.UTC));
+
+        assertThatThrownBy(() -> later.verify(token))
+                .isInstanceOf(TurnTokenService.ExpiredTurnTokenException.class)
+                .extracting(e -> ((TurnTokenService.ExpiredTurnTokenException) e).getSessionId())
+                .isEqualTo(1L);
+    }
+}